@@ -0,0 +1,119 @@
+package com.internship.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync(proxyTargetClass = true)
+public class AsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Önizleme ve metin çıkarma gibi dosya işleri için sınırlı iş havuzu.
+     * Kuyruk dolduğunda iş istek thread'ine geri verilmez, loglanıp bırakılır.
+     */
+    @Bean(name = "documentTaskExecutor")
+    public ThreadPoolTaskExecutor documentTaskExecutor(
+            @Value("${app.documents.worker-threads:2}") int workerThreads,
+            @Value("${app.documents.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("document-worker-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                logger.warn("Document task queue is full ({} pending), dropping task", pool.getQueue().size()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Değişikliklerden sonra kohort analitiğini yenileyen tek thread'lik havuz. Yenilemeler
+     * AnalyticsServiceImpl içinde birleştiği için kuyrukta bekleyen tek iş yeterlidir, fazlası bırakılır.
+     */
+    @Bean(name = "analyticsRefreshExecutor")
+    public ThreadPoolTaskExecutor analyticsRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("analytics-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Toplu arşiv indirmede dosyaları paralel okuyan havuz. Her istek kendi okuma penceresini
+     * sınırladığı için kuyruk dolarsa okuma istek thread'inde yapılır.
+     */
+    @Bean(name = "archiveReadExecutor")
+    public ThreadPoolTaskExecutor archiveReadExecutor(
+            @Value("${app.archive.read-threads:4}") int readThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(readThreads);
+        executor.setMaxPoolSize(readThreads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("archive-reader-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * StreamingResponseBody gibi asenkron MVC yanıtları için havuz. Kendi executor bean'lerimiz
+     * tanımlı olduğunda Spring Boot varsayılan applicationTaskExecutor'u oluşturmaz.
+     */
+    @Bean(name = "mvcTaskExecutor")
+    public ThreadPoolTaskExecutor mvcTaskExecutor(
+            @Value("${app.web.async-threads:8}") int asyncThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Toplu SGK bildirim işlerini sırayla çalıştıran tek thread'lik havuz.
+     */
+    @Bean(name = "sgkBatchExecutor")
+    public ThreadPoolTaskExecutor sgkBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("sgk-batch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Toplu işte SGK belgelerini paralel üreten havuz. İş her parçanın belgelerini bekledikten sonra
+     * devam ettiği için kuyruk en fazla bir parça kadar dolar; dolarsa belge iş thread'inde üretilir.
+     */
+    @Bean(name = "sgkRenderExecutor")
+    public ThreadPoolTaskExecutor sgkRenderExecutor(
+            @Value("${app.sgk.render-threads:4}") int renderThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("sgk-render-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,96 @@
+package com.internship.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate ikinci seviye önbelleği. Caffeine tabanlı JCache bölgeleri burada oluşturulur ve
+ * Hibernate'e verilir; entity'lerdeki {@code @Cache(region = ...)} adları bu listedeki adlarla
+ * aynı olmalıdır, eksik bölge uygulamanın açılmasını engeller. Her bölgenin boyutu ve yazmadan
+ * sonraki yaşam süresi {@code app.cache.<bölge>.max-size} ve
+ * {@code app.cache.<bölge>.expire-after-write} ile değiştirilebilir.
+ *
+ * <p>Servisler üzerinden yapılan yazmalar ilgili girdiyi READ_WRITE stratejisiyle geçersiz kılar,
+ * JPQL toplu güncellemeleri bölgenin tamamını temizler. Yaşam süresi sadece veritabanına doğrudan
+ * yapılan değişikliklere karşı bir üst sınırdır.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    private static final List<Region> REGIONS = List.of(
+            new Region("roles", 100, Duration.ofHours(24)),
+            new Region("users", 10_000, Duration.ofMinutes(30)),
+            new Region("user-roles", 10_000, Duration.ofMinutes(30)),
+            new Region("internships", 20_000, Duration.ofMinutes(10)),
+            new Region("default-query-results-region", 5_000, Duration.ofMinutes(10)),
+            // Sorgu önbelleğinin geçerliliği tablo zaman damgalarına bakılarak belirlenir, süresi dolmamalı
+            new Region("default-update-timestamps-region", 1_000, Duration.ZERO));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("internship-second-level-cache"), getClass().getClassLoader());
+        for (Region region : REGIONS) {
+            long maxSize = environment.getProperty("app.cache." + region.name + ".max-size", Long.class, region.maxSize);
+            Duration ttl = environment.getProperty("app.cache." + region.name + ".expire-after-write", Duration.class,
+                    region.expireAfterWrite);
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setMaximumSize(OptionalLong.of(maxSize))
+                    .setExpireAfterWrite(ttl.isZero() ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()))
+                    .setStatisticsEnabled(true);
+            if (cacheManager.getCache(region.name) == null) {
+                cacheManager.createCache(region.name, configuration);
+            }
+            logger.debug("Second-level cache region {}: max {} entries, expire after write {}", region.name, maxSize, ttl);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // İstatistikler metrikler için toplanır, her oturum sonunda log basılmaz
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    /**
+     * Bölge bazında isabet ve ıska sayıları /actuator/metrics altında
+     * hibernate.second.level.cache.requests (region, result etiketleriyle) olarak görünür.
+     */
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", List.of());
+    }
+
+    // expireAfterWrite sıfırsa girdiler sadece boyut sınırıyla çıkarılır
+    private record Region(String name, long maxSize, Duration expireAfterWrite) {
+    }
+}
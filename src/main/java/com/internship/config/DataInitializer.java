@@ -1,11 +1,19 @@
 package com.internship.config;
 
+import com.internship.entity.Holiday;
+import com.internship.entity.HolidayScope;
 import com.internship.entity.Role;
+import com.internship.repository.ApplicationApprovalRepository;
+import com.internship.repository.HolidayRepository;
+import com.internship.repository.InternshipRepository;
 import com.internship.repository.RoleRepository;
+import com.internship.service.ApprovalEventService;
+import com.internship.service.InternshipStatisticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -14,6 +22,11 @@ import java.util.List;
 public class DataInitializer implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
+    private final ApplicationApprovalRepository approvalRepository;
+    private final ApprovalEventService approvalEventService;
+    private final InternshipRepository internshipRepository;
+    private final HolidayRepository holidayRepository;
+    private final InternshipStatisticsService statisticsService;
 
     @Override
     public void run(String... args) {
@@ -31,6 +44,51 @@ public class DataInitializer implements CommandLineRunner {
             roleRepository.saveAll(roles);
             System.out.println("Roller başarıyla oluşturuldu.");
         }
+
+        // Sabit tarihli resmi tatiller; dini bayramlar her yıl için tatil tablosuna ayrıca girilir
+        if (holidayRepository.count() == 0) {
+            holidayRepository.saveAll(Arrays.asList(
+                createRecurringHoliday(1, 1, "Yılbaşı"),
+                createRecurringHoliday(4, 23, "Ulusal Egemenlik ve Çocuk Bayramı"),
+                createRecurringHoliday(5, 1, "Emek ve Dayanışma Günü"),
+                createRecurringHoliday(5, 19, "Atatürk'ü Anma, Gençlik ve Spor Bayramı"),
+                createRecurringHoliday(7, 15, "Demokrasi ve Milli Birlik Günü"),
+                createRecurringHoliday(8, 30, "Zafer Bayramı"),
+                createRecurringHoliday(10, 29, "Cumhuriyet Bayramı")
+            ));
+            System.out.println("Resmi tatiller oluşturuldu.");
+        }
+
+        // Eski onay kayıtlarının rol bilgisini tamamla
+        int backfilled = approvalRepository.backfillApproverRoles();
+        if (backfilled > 0) {
+            System.out.println(backfilled + " onay kaydının rol bilgisi dolduruldu.");
+        }
+
+        // SLA takibi öncesi açılmış stajlarda durum zamanı bilinmediğinden oluşturulma anı kullanılır
+        internshipRepository.backfillStatusChangedAt();
+
+        // Olay günlüğünden önce açılmış stajlar için güncel durum satırlarını oluştur
+        int states = 0;
+        int processed;
+        while ((processed = approvalEventService.backfillMissingStates(100)) > 0) {
+            states += processed;
+        }
+        if (states > 0) {
+            System.out.println(states + " staj için onay durumu oluşturuldu.");
+        }
+
+        // Pano istatistik satırlarını oluştur ve mevcut stajlarla eşitle
+        statisticsService.reconcile();
+    }
+
+    private Holiday createRecurringHoliday(int month, int day, String name) {
+        return Holiday.builder()
+                .date(LocalDate.of(2000, month, day))
+                .name(name)
+                .scope(HolidayScope.NATIONAL)
+                .recurring(true)
+                .build();
     }
 
     private Role createRole(String name, String description) {
@@ -0,0 +1,155 @@
+package com.internship.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * app.datasource.replica.url tanımlıysa salt okunur işlemler (readOnly servis metotları ve Spring Data
+ * okuma metotları) replikaya, diğerleri birincil veritabanına gider. Tanımlı değilse Spring Boot'un
+ * tek DataSource'u olduğu gibi kullanılır.
+ *
+ * <p>Open-in-view açık olduğu için Hibernate bağlantıyı istek boyunca tutmaz, her işlem sonunda
+ * bırakır; aksi halde bir istekteki ilk salt okunur işlemin replika bağlantısı sonraki yazma
+ * işlemlerinde de kullanılırdı. Replika gecikmeli olabileceğinden salt okunur işlemler ikinci seviye
+ * önbelleği okur ama ona yazmaz.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    // PostgreSQL replikasında uygulanmayı bekleyen WAL yoksa gecikme sıfırdır, varsa son uygulanan işlemin yaşıdır
+    private static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:#{null}}") String username,
+            @Value("${app.datasource.replica.password:#{null}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username != null ? username : properties.determineUsername())
+                .password(password != null ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Replika kapalıyken havuz yine açılır; bağlantı hatası gecikme kontrolünde görülür ve okumalar birincile döner.
+        // Kontrol ortak zamanlayıcı thread'inde çalıştığından bağlantı beklemesi varsayılan 30 sn yerine 2 sn
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setConnectionTimeout(2000);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            @Value("${app.datasource.replica.lag-query:" + POSTGRES_LAG_QUERY + "}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Spring Boot'un JpaBaseConfiguration#jpaVendorAdapter ayarlarıyla aynı, sadece dialect farklı
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties) {
+        HibernateJpaDialect dialect = new ReplicaAwareJpaDialect();
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialect;
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
+    /**
+     * Salt okunur işlemde oturum önbelleğe yazmaz. Replikadan okunan eski bir kopya, birincilde
+     * güncellenip önbellekten düşürülmüş girdiyi yaşam süresi dolana kadar geri getirebilirdi.
+     */
+    private static class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws PersistenceException, SQLException {
+            Object transactionData = super.beginTransaction(entityManager, definition);
+            if (!definition.isReadOnly()) {
+                return transactionData;
+            }
+            Session session = entityManager.unwrap(Session.class);
+            CacheMode previousCacheMode = session.getCacheMode();
+            session.setCacheMode(CacheMode.GET);
+            return new ReadOnlyTransactionData(transactionData, session, previousCacheMode);
+        }
+
+        @Override
+        public void cleanupTransaction(Object transactionData) {
+            if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+                readOnly.session().setCacheMode(readOnly.previousCacheMode());
+                super.cleanupTransaction(readOnly.delegate());
+            } else {
+                super.cleanupTransaction(transactionData);
+            }
+        }
+    }
+
+    private record ReadOnlyTransactionData(Object delegate, Session session, CacheMode previousCacheMode) {
+    }
+}
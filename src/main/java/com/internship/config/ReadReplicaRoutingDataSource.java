@@ -0,0 +1,112 @@
+package com.internship.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Salt okunur işlemlerin bağlantılarını replikaya, diğer bağlantıları birincil veritabanına verir.
+ * İşlemin salt okunur olduğu bağlantı fiziksel olarak açılırken bilindiği için bu sınıf
+ * LazyConnectionDataSourceProxy arkasında kullanılır.
+ *
+ * <p>Replika gecikmesi düzenli olarak ölçülür; gecikme sınırı aşıldığında, ölçüm başarısız olduğunda
+ * ya da replikadan bağlantı alınamadığında okumalar bir sonraki başarılı ölçüme kadar birincil
+ * veritabanına gider. İlk ölçüm yapılana kadar da replika kullanılmaz.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+    private volatile boolean checked;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, Duration maxLag,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, routing -> routing.lagSeconds)
+                .description("Last measured replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, routing -> routing.replicaUsable ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the read replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markUnusable("connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (routeToReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markUnusable("connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // Replika değilse ya da henüz hiç kayıt uygulamadıysa sorgu NULL döner, gecikme yok sayılır
+            double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+            lagSeconds = lag;
+            if (lag * 1000 > maxLag.toMillis()) {
+                markUnusable(String.format("lag %.1fs exceeds %s", lag, maxLag));
+            } else if (!replicaUsable) {
+                replicaUsable = true;
+                logger.info("Read replica is usable (lag {}s), routing read-only transactions to it", lag);
+            }
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            markUnusable("lag check failed: " + e.getMessage());
+        }
+        checked = true;
+    }
+
+    private boolean routeToReplica() {
+        return replicaUsable && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void markUnusable(String reason) {
+        if (replicaUsable || !checked) {
+            replicaUsable = false;
+            logger.warn("Read replica disabled, reads fall back to primary: {}", reason);
+        } else {
+            logger.debug("Read replica still unusable: {}", reason);
+        }
+    }
+}
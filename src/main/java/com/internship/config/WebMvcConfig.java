@@ -0,0 +1,30 @@
+package com.internship.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor mvcTaskExecutor;
+    private final Duration asyncTimeout;
+
+    public WebMvcConfig(@Qualifier("mvcTaskExecutor") AsyncTaskExecutor mvcTaskExecutor,
+                        @Value("${app.web.async-timeout:30m}") Duration asyncTimeout) {
+        this.mvcTaskExecutor = mvcTaskExecutor;
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    // Büyük arşivlerin akışı container'ın varsayılan 30 sn async zaman aşımına takılmamalı
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor);
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+}
@@ -0,0 +1,29 @@
+package com.internship.controller;
+
+import com.internship.dto.CohortAnalytics;
+import com.internship.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Analytics")
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @Operation(summary = "Kohort bazında staj ve çalışma günü özeti",
+            description = "Özet önbellekten döner; refresh=true verilirse hemen yeniden hesaplanır")
+    @GetMapping("/cohort")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<CohortAnalytics> getCohortAnalytics(@RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(analyticsService.getCohortAnalytics(refresh));
+    }
+}
@@ -1,23 +1,31 @@
 package com.internship.controller;
 
 import com.internship.dto.ApprovalRequest;
+import com.internship.dto.BulkApprovalRequest;
+import com.internship.dto.BulkApprovalResult;
 import com.internship.entity.ApplicationApproval;
 import com.internship.entity.Internship;
+import com.internship.entity.InternshipApprovalState;
 import com.internship.entity.InternshipStatus;
 import com.internship.entity.NotificationType;
 import com.internship.entity.User;
+import com.internship.exception.InvalidStatusTransitionException;
 import com.internship.exception.ResourceNotFoundException;
 import com.internship.security.UserSecurity;
+import com.internship.service.ApprovalEventService;
 import com.internship.service.ApprovalService;
 import com.internship.service.InternshipService;
 import com.internship.service.NotificationService;
+import com.internship.service.SlaEscalationService;
 import com.internship.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -39,6 +47,8 @@ public class ApprovalController {
     private final UserService userService;
     private final UserSecurity userSecurity;
     private final NotificationService notificationService;
+    private final ApprovalEventService approvalEventService;
+    private final SlaEscalationService slaEscalationService;
 
     @Operation(summary = "Approve an internship")
     @PostMapping("/{internshipId}/approve")
@@ -65,12 +75,8 @@ public class ApprovalController {
         }
         
         // Determine the new status based on the user's role
-        InternshipStatus newStatus;
-        if (userSecurity.hasRole("FACULTY_ADVISOR")) {
-            newStatus = InternshipStatus.ADVISOR_APPROVED;
-        } else if (userSecurity.hasRole("DEPARTMENT_COORDINATOR") || userSecurity.hasRole("UNIVERSITY_COORDINATOR")) {
-            newStatus = InternshipStatus.COORDINATOR_APPROVED;
-        } else {
+        InternshipStatus newStatus = approvalStatusForCurrentUser();
+        if (newStatus == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(createResponse(false, "Invalid role for approval"));
         }
         
@@ -92,6 +98,9 @@ public class ApprovalController {
             approvalData.put("internshipId", internshipId);
             
             return ResponseEntity.ok(createResponse(true, "Internship approved successfully", approvalData));
+        } catch (InvalidStatusTransitionException | ObjectOptimisticLockingFailureException e) {
+            logger.warn("Status change rejected for internship {}: {}", internshipId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createResponse(false, e.getMessage()));
         } catch (Exception e) {
             logger.error("Error approving internship: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -145,6 +154,9 @@ public class ApprovalController {
             approvalData.put("internshipId", internshipId);
             
             return ResponseEntity.ok(createResponse(true, "Internship rejected successfully", approvalData));
+        } catch (InvalidStatusTransitionException | ObjectOptimisticLockingFailureException e) {
+            logger.warn("Status change rejected for internship {}: {}", internshipId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createResponse(false, e.getMessage()));
         } catch (Exception e) {
             logger.error("Error rejecting internship: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -198,6 +210,9 @@ public class ApprovalController {
             approvalData.put("internshipId", internshipId);
             
             return ResponseEntity.ok(createResponse(true, "Revision requested successfully", approvalData));
+        } catch (InvalidStatusTransitionException | ObjectOptimisticLockingFailureException e) {
+            logger.warn("Status change rejected for internship {}: {}", internshipId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createResponse(false, e.getMessage()));
         } catch (Exception e) {
             logger.error("Error requesting revision: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -205,6 +220,47 @@ public class ApprovalController {
         }
     }
     
+    @Operation(summary = "Approve or reject multiple internships at once")
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Map<String, Object>> bulkApproval(@Valid @RequestBody BulkApprovalRequest request) {
+        logger.info("Bulk {} for {} internships", request.getAction(), request.getInternshipIds().size());
+        User currentUser = userSecurity.getCurrentUser();
+        // Erişim tekli işlemlerdeki canAccessInternship kuralıyla aynı: danışman rolü koordinatör rolünden önce gelir
+        boolean coordinatorAccess = userSecurity.hasCoordinatorAccess();
+
+        InternshipStatus newStatus;
+        if (request.getAction() == BulkApprovalRequest.Action.REJECT) {
+            if (request.getComment() == null || request.getComment().trim().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createResponse(false, "Rejection reason is required"));
+            }
+            newStatus = InternshipStatus.REJECTED;
+        } else {
+            newStatus = approvalStatusForCurrentUser();
+            if (newStatus == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(createResponse(false, "Invalid role for approval"));
+            }
+        }
+
+        try {
+            List<BulkApprovalResult> results = approvalService.bulkTransition(
+                    request.getInternshipIds(), currentUser.getId(), coordinatorAccess, newStatus, request.getComment());
+            long succeeded = results.stream().filter(BulkApprovalResult::isSuccess).count();
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("results", results);
+            data.put("succeeded", succeeded);
+            data.put("failed", results.size() - succeeded);
+
+            logger.info("Bulk {} finished: {} succeeded, {} failed", request.getAction(), succeeded, results.size() - succeeded);
+            return ResponseEntity.ok(createResponse(true, "Bulk approval processed", data));
+        } catch (Exception e) {
+            logger.error("Error processing bulk approval: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createResponse(false, "Error processing bulk approval: " + e.getMessage()));
+        }
+    }
+
     @Operation(summary = "Get all approvals for an internship")
     @GetMapping("/internship/{internshipId}")
     @PreAuthorize("hasRole('STUDENT') or hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
@@ -243,6 +299,48 @@ public class ApprovalController {
         }
     }
     
+    @Operation(summary = "Get the approval timeline of an internship")
+    @GetMapping("/internship/{internshipId}/timeline")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Map<String, Object>> getApprovalTimeline(
+            @PathVariable Long internshipId,
+            @RequestParam(required = false) Long beforeEventId,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!userSecurity.canAccessInternship(internshipId)) {
+            logger.error("User does not have permission to view the timeline of internship {}", internshipId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(createResponse(false, "You don't have permission to view this internship"));
+        }
+
+        return approvalEventService.getState(internshipId)
+                .map(state -> {
+                    Map<String, Object> data = toStateDto(state);
+                    // Satırda son olaylar tutulur; beforeEventId ile daha eski olaylar sayfalanır
+                    data.put("timeline", beforeEventId != null
+                            ? approvalEventService.getTimelineBefore(internshipId, beforeEventId, Math.max(1, Math.min(limit, 500)))
+                            : approvalEventService.getTimeline(state));
+                    return ResponseEntity.ok(createResponse(true, "Approval timeline retrieved", data));
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(createResponse(false, "No approval history for internship " + internshipId)));
+    }
+
+    @Operation(summary = "Get current approval states for dashboards")
+    @GetMapping("/states")
+    @PreAuthorize("hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<List<Map<String, Object>>> getApprovalStates(
+            @RequestParam(required = false) InternshipStatus status,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<InternshipApprovalState> states = approvalEventService.getStates(status, Math.max(1, Math.min(limit, 500)));
+        return ResponseEntity.ok(states.stream().map(this::toStateDto).collect(Collectors.toList()));
+    }
+
+    @Operation(summary = "Run SLA escalation for overdue approvals now")
+    @PostMapping("/sla/escalate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> escalateOverdueApprovals() {
+        return ResponseEntity.ok(createResponse(true, "SLA escalation completed", slaEscalationService.escalateOverdue()));
+    }
+
     @Operation(summary = "Get pending approvals for current user")
     @GetMapping("/pending")
     @PreAuthorize("hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
@@ -288,6 +386,37 @@ public class ApprovalController {
         }
     }
     
+    private Map<String, Object> toStateDto(InternshipApprovalState state) {
+        Map<String, Object> stateDto = new HashMap<>();
+        stateDto.put("internshipId", state.getInternshipId());
+        stateDto.put("currentStatus", state.getCurrentStatus());
+        stateDto.put("advisorId", state.getAdvisorId());
+        stateDto.put("lastEventType", state.getLastEventType());
+        stateDto.put("lastActorId", state.getLastActorId());
+        stateDto.put("lastActorRole", state.getLastActorRole());
+        stateDto.put("lastComment", state.getLastComment());
+        stateDto.put("lastEventAt", state.getLastEventAt());
+        stateDto.put("submittedAt", state.getSubmittedAt());
+        stateDto.put("advisorAssignedAt", state.getAdvisorAssignedAt());
+        stateDto.put("advisorApprovedAt", state.getAdvisorApprovedAt());
+        stateDto.put("coordinatorApprovedAt", state.getCoordinatorApprovedAt());
+        stateDto.put("rejectedAt", state.getRejectedAt());
+        stateDto.put("revisionCount", state.getRevisionCount());
+        stateDto.put("eventCount", state.getEventCount());
+        return stateDto;
+    }
+
+    // Tekli ve toplu onay aynı kuralı kullanır: danışman rolü varsa danışman onayı verilir
+    private InternshipStatus approvalStatusForCurrentUser() {
+        if (userSecurity.hasRole("FACULTY_ADVISOR")) {
+            return InternshipStatus.ADVISOR_APPROVED;
+        }
+        if (userSecurity.hasRole("DEPARTMENT_COORDINATOR") || userSecurity.hasRole("UNIVERSITY_COORDINATOR")) {
+            return InternshipStatus.COORDINATOR_APPROVED;
+        }
+        return null;
+    }
+
     private Map<String, Object> createResponse(boolean success, String message) {
         return createResponse(success, message, null);
     }
@@ -0,0 +1,73 @@
+package com.internship.controller;
+
+import com.internship.entity.Holiday;
+import com.internship.service.BusinessCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Tag(name = "Calendar")
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class CalendarController {
+
+    private final BusinessCalendarService businessCalendarService;
+
+    @Operation(summary = "Tatil günlerini listele")
+    @GetMapping("/holidays")
+    public ResponseEntity<List<Holiday>> getHolidays() {
+        return ResponseEntity.ok(businessCalendarService.getHolidays());
+    }
+
+    @Operation(summary = "Tatil günü ekle", description = "recurring=true olan tatiller her yıl aynı gün ve ayda uygulanır")
+    @PostMapping("/holidays")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Holiday> addHoliday(@RequestBody Holiday holiday) {
+        holiday.setId(null);
+        return ResponseEntity.status(HttpStatus.CREATED).body(businessCalendarService.addHoliday(holiday));
+    }
+
+    @Operation(summary = "Tatil gününü sil")
+    @DeleteMapping("/holidays/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long id) {
+        businessCalendarService.deleteHoliday(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "İki tarih arasındaki iş günü sayısını hesapla",
+            description = "days verilmezse pazartesi-cuma çalışma haftası kullanılır, tatiller düşülür")
+    @GetMapping("/business-days")
+    public ResponseEntity<Map<String, Object>> countBusinessDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Set<DayOfWeek> days) {
+        businessCalendarService.validateDateRange(start, end);
+        Set<DayOfWeek> workWeek = days == null || days.isEmpty()
+                ? BusinessCalendarService.DEFAULT_WORK_WEEK
+                : EnumSet.copyOf(days);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("start", start);
+        response.put("end", end);
+        response.put("workWeek", workWeek);
+        response.put("businessDays", businessCalendarService.countBusinessDays(start, end, workWeek));
+        return ResponseEntity.ok(response);
+    }
+}
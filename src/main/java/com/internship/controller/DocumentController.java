@@ -1,25 +1,41 @@
 package com.internship.controller;
 
+import com.internship.dto.ArchiveEntry;
 import com.internship.entity.Document;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import com.internship.event.FileDeletedEvent;
+import com.internship.event.StoredFileType;
+import com.internship.exception.ResourceNotFoundException;
 import com.internship.repository.DocumentRepository;
 import com.internship.security.UserSecurity;
+import com.internship.service.DocumentArchiveService;
+import com.internship.service.DocumentPreviewService;
+import com.internship.service.FileStorageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/documents")
@@ -29,6 +45,10 @@ public class DocumentController {
 
     private final DocumentRepository documentRepository;
     private final UserSecurity userSecurity;
+    private final DocumentPreviewService documentPreviewService;
+    private final DocumentArchiveService documentArchiveService;
+    private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Operation(summary = "Staj belgelerini listele")
     @GetMapping("/internship/{internshipId}")
@@ -41,6 +61,34 @@ public class DocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    @Operation(summary = "Staj belgelerini ZIP olarak indir", description = "Stajın tüm belge ve raporlarını tek bir ZIP arşivi olarak akış halinde döner")
+    @GetMapping("/internship/{internshipId}/archive")
+    public ResponseEntity<StreamingResponseBody> downloadInternshipArchive(@PathVariable Long internshipId) {
+        if (!userSecurity.canAccessInternship(internshipId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<ArchiveEntry> entries = documentArchiveService.getInternshipEntries(internshipId);
+        return zipResponse("internship_" + internshipId + "_documents.zip", entries);
+    }
+
+    @Operation(summary = "Dönem belgelerini ZIP olarak indir", description = "Başlangıç tarihi verilen aralıkta olan stajların belge ve raporlarını durum ve tür filtresiyle tek arşivde döner")
+    @GetMapping("/archive")
+    @PreAuthorize("hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<StreamingResponseBody> downloadCohortArchive(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) InternshipStatus status,
+            @RequestParam(required = false) InternshipType type) {
+        try {
+            List<ArchiveEntry> entries = documentArchiveService.getCohortEntries(from, to, status, type);
+            return zipResponse("documents_" + from + "_" + to + ".zip", entries);
+        } catch (IllegalArgumentException e) {
+            // StreamingResponseBody dönüş tipi korunmalı, hata gövdesi Spring'in hata yanıtıyla döner
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @Operation(summary = "Belge indir")
     @GetMapping("/{id}/download")
     public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) {
@@ -51,25 +99,70 @@ public class DocumentController {
 //            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
 //        }
 
-        try {
-            Path filePath = Paths.get(document.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
+        Resource resource = fileStorageService.loadAsResource(document.getFilePath());
+        if (!resource.exists()) {
+            throw new RuntimeException("Dosya bulunamadı: " + document.getFilePath());
+        }
+
+        String contentType = determineContentType(document.getFileName());
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getFileName() + "\"")
+                .body(resource);
+    }
+
+    @Operation(summary = "Belge önizlemesi", description = "Belgenin ilk sayfasının küçük PNG önizlemesini döner")
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<Resource> getDocumentPreview(@PathVariable Long id) {
+        Document document = documentRepository.findByIdWithInternship(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Belge bulunamadı: " + id));
+
+        if (!userSecurity.canAccessInternship(document.getInternship().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
 
-            if (!resource.exists()) {
-                throw new RuntimeException("Dosya bulunamadı: " + document.getFilePath());
+        Optional<Path> preview = documentPreviewService.getPreview(document.getFilePath());
+        if (preview.isEmpty()) {
+            // PDF değilse ya da üretim bitmiş ama görsel çıkmamışsa beklemenin anlamı yok
+            if (!documentPreviewService.supportsPreview(document.getFilePath())
+                    || documentPreviewService.getMetadata(document.getFilePath()).isPresent()) {
+                return ResponseEntity.notFound().build();
             }
+            // Önizleme henüz hazır değil, arka planda üretimini iste
+            documentPreviewService.schedulePreview(document.getFilePath());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
 
-            String contentType = determineContentType(document.getFileName());
-            
+        FileSystemResource resource = new FileSystemResource(preview.get());
+        try {
             return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getFileName() + "\"")
+                    .contentType(MediaType.IMAGE_PNG)
+                    .cacheControl(CacheControl.maxAge(7, TimeUnit.DAYS).cachePrivate())
+                    .eTag(Long.toHexString(resource.lastModified()))
                     .body(resource);
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Hatalı URL: " + e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @Operation(summary = "Belge meta verileri", description = "Belgeden çıkarılan sayfa sayısı, başlık ve metin özeti gibi bilgileri döner")
+    @GetMapping("/{id}/metadata")
+    public ResponseEntity<Map<String, Object>> getDocumentMetadata(@PathVariable Long id) {
+        Document document = documentRepository.findByIdWithInternship(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Belge bulunamadı: " + id));
+
+        if (!userSecurity.canAccessInternship(document.getInternship().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return documentPreviewService.getMetadata(document.getFilePath())
+                .map(metadata -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                        .body(metadata))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "Belge sil")
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> deleteDocument(@PathVariable Long id) {
@@ -80,21 +173,24 @@ public class DocumentController {
 //            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
 //        }
 
-        try {
-            // Dosyayı fiziksel olarak silmeye çalış
-            Path filePath = Paths.get(document.getFilePath());
-            java.nio.file.Files.deleteIfExists(filePath);
-            
-            // Veritabanından belgeyi sil
-            documentRepository.delete(document);
-            
-            return ResponseEntity.ok(Map.of("message", "Belge başarıyla silindi"));
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Dosya silinemedi: " + e.getMessage()));
-        }
+        // Önce veritabanından sil, fiziksel dosya olay dinleyicisinde kaldırılır
+        documentRepository.delete(document);
+
+        eventPublisher.publishEvent(new FileDeletedEvent(
+                StoredFileType.DOCUMENT, document.getId(), document.getInternship().getId(), document.getFilePath()));
+
+        return ResponseEntity.ok(Map.of("message", "Belge başarıyla silindi"));
     }
     
+    // Giriş listesi veritabanından önceden alınır; akış sırasında bağlantı tutulmaz
+    private ResponseEntity<StreamingResponseBody> zipResponse(String fileName, List<ArchiveEntry> entries) {
+        StreamingResponseBody body = out -> documentArchiveService.writeZip(entries, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     private String determineContentType(String fileName) {
         String lowercaseName = fileName.toLowerCase();
         if (lowercaseName.endsWith(".pdf")) {
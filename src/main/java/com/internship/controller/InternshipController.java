@@ -1,16 +1,23 @@
 package com.internship.controller;
 
 import com.internship.dto.InternshipRequest;
+import com.internship.dto.WorkingDayRequest;
+import com.internship.entity.ApplicationWorkingDays;
 import com.internship.entity.Internship;
 import com.internship.entity.User;
 import com.internship.security.UserSecurity;
 import com.internship.service.InternshipService;
 import com.internship.service.UserService;
+import com.internship.service.WorkingDaysService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +25,12 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Tag(name = "Internship Applications")
 @RestController
@@ -33,6 +42,7 @@ public class InternshipController {
     private final InternshipService internshipService;
     private final UserService userService;
     private final UserSecurity userSecurity;
+    private final WorkingDaysService workingDaysService;
 
     @Operation(summary = "Yeni staj başvurusu oluştur")
     @PostMapping
@@ -178,7 +188,8 @@ public class InternshipController {
             @PathVariable Long id,
             @RequestBody InternshipRequest request) {
         
-        Internship internship = internshipService.getInternshipById(id);
+        // Salt okunur getter replikadan okuyabilir, güncelleme birincil veritabanından yüklenen kayıt üzerinde yapılır
+        Internship internship = internshipService.getInternshipForUpdate(id);
         
         // Temel bilgileri güncelle
         internship.setCompanyName(request.getCompanyName());
@@ -208,4 +219,54 @@ public class InternshipController {
         Internship updatedInternship = internshipService.updateInternship(internship);
         return ResponseEntity.ok(updatedInternship);
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Stajın çalışma günlerini tarih aralığına göre sayfalı getir")
+    @GetMapping("/{id}/working-days")
+    @PreAuthorize("@userSecurity.canAccessInternship(#id)")
+    public ResponseEntity<Page<Map<String, Object>>> getWorkingDays(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Internship internship = internshipService.getInternshipById(id);
+        Page<ApplicationWorkingDays> days = workingDaysService.getWorkingDaysBetweenDates(id,
+                start != null ? start : internship.getStartDate(),
+                end != null ? end : internship.getEndDate(),
+                PageRequest.of(page, Math.max(1, Math.min(size, 200)), Sort.by("workDate")));
+        return ResponseEntity.ok(days.map(this::toWorkingDayDto));
+    }
+
+    @Operation(summary = "Stajın çalışma programını değiştir",
+            description = "Tarihsiz satırlar haftalık program olarak staj tarihleri boyunca tatiller hariç günlere açılır")
+    @PutMapping("/{id}/working-days")
+    @PreAuthorize("@userSecurity.canAccessInternship(#id)")
+    public ResponseEntity<List<Map<String, Object>>> updateWorkingDays(
+            @PathVariable Long id,
+            @Valid @RequestBody List<WorkingDayRequest> request) {
+        if (request.stream().anyMatch(day -> day.getWorkDate() == null && day.getDayOfWeek() == null)) {
+            throw new IllegalArgumentException("Her satırda workDate ya da dayOfWeek zorunludur");
+        }
+        List<ApplicationWorkingDays> days = request.stream()
+                .map(day -> ApplicationWorkingDays.builder()
+                        .workDate(day.getWorkDate())
+                        .dayOfWeek(day.getDayOfWeek())
+                        .startTime(day.getStartTime())
+                        .endTime(day.getEndTime())
+                        .build())
+                .collect(Collectors.toList());
+
+        List<ApplicationWorkingDays> saved = workingDaysService.updateWorkingDays(id, days);
+        return ResponseEntity.ok(saved.stream().map(this::toWorkingDayDto).collect(Collectors.toList()));
+    }
+
+    private Map<String, Object> toWorkingDayDto(ApplicationWorkingDays day) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", day.getId());
+        dto.put("workDate", day.getWorkDate());
+        dto.put("dayOfWeek", day.getDayOfWeek());
+        dto.put("startTime", day.getStartTime());
+        dto.put("endTime", day.getEndTime());
+        return dto;
+    }
+}
@@ -3,6 +3,8 @@ package com.internship.controller;
 import com.internship.entity.InternshipReport;
 import com.internship.entity.ReportStatus;
 import com.internship.security.UserSecurity;
+import com.internship.service.DocumentPreviewService;
+import com.internship.service.FileStorageService;
 import com.internship.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,8 +12,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,11 +24,10 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Tag(name = "Internship Reports")
 @RestController
@@ -36,6 +38,8 @@ public class ReportController {
 
     private final ReportService reportService;
     private final UserSecurity userSecurity;
+    private final DocumentPreviewService documentPreviewService;
+    private final FileStorageService fileStorageService;
     private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
 
     @Operation(summary = "Staj raporu yükle")
@@ -210,26 +214,82 @@ public class ReportController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
-            try {
-                String filePath = reportService.downloadReportFile(reportId);
-                Path path = Paths.get(filePath);
-                Resource resource = new UrlResource(path.toUri());
-                
-                if (resource.exists() && resource.isReadable()) {
-                    return ResponseEntity.ok()
-                            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFileName() + "\"")
-                            .contentType(MediaType.parseMediaType(report.getFileType()))
-                            .body(resource);
-                } else {
-                    logger.error("File not found or not readable: {}", filePath);
-                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                }
-            } catch (MalformedURLException e) {
-                logger.error("Error downloading report file", e);
+            String filePath = reportService.downloadReportFile(reportId);
+            Resource resource = fileStorageService.loadAsResource(filePath);
+            
+            if (resource.exists() && resource.isReadable()) {
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFileName() + "\"")
+                        .contentType(MediaType.parseMediaType(report.getFileType()))
+                        .body(resource);
+            } else {
+                logger.error("File not found or not readable: {}", filePath);
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
         } else {
             return ResponseEntity.notFound().build();
         }
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Staj raporu önizlemesi")
+    @GetMapping("/{reportId}/preview")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<?> getReportPreview(@PathVariable Long reportId) {
+
+        Optional<InternshipReport> reportOpt = reportService.getReportById(reportId);
+        if (reportOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        InternshipReport report = reportOpt.get();
+        if (!userSecurity.canAccessInternship(report.getInternship().getId())) {
+            logger.warn("Access denied for user to preview report with ID: {}", reportId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Optional<Path> preview = documentPreviewService.getPreview(report.getFilePath());
+        if (preview.isEmpty()) {
+            if (!documentPreviewService.supportsPreview(report.getFilePath())
+                    || documentPreviewService.getMetadata(report.getFilePath()).isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            documentPreviewService.schedulePreview(report.getFilePath());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
+
+        FileSystemResource resource = new FileSystemResource(preview.get());
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_PNG)
+                    .cacheControl(CacheControl.maxAge(7, TimeUnit.DAYS).cachePrivate())
+                    .eTag(Long.toHexString(resource.lastModified()))
+                    .body(resource);
+        } catch (IOException e) {
+            logger.error("Error reading preview for report ID: {}", reportId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Staj raporu meta verileri")
+    @GetMapping("/{reportId}/metadata")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<?> getReportMetadata(@PathVariable Long reportId) {
+
+        Optional<InternshipReport> reportOpt = reportService.getReportById(reportId);
+        if (reportOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        InternshipReport report = reportOpt.get();
+        if (!userSecurity.canAccessInternship(report.getInternship().getId())) {
+            logger.warn("Access denied for user to view metadata of report with ID: {}", reportId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return documentPreviewService.getMetadata(report.getFilePath())
+                .<ResponseEntity<?>>map(metadata -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                        .body(metadata))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
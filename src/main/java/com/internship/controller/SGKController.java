@@ -1,20 +1,38 @@
 package com.internship.controller;
 
+import com.internship.dto.SGKBatchRequest;
+import com.internship.dto.SGKBatchStatus;
+import com.internship.dto.SGKDeclarationCreation;
+import com.internship.dto.SGKExportFormat;
 import com.internship.entity.SGKDeclaration;
 import com.internship.security.UserSecurity;
+import com.internship.service.FileStorageService;
+import com.internship.service.SGKBatchService;
+import com.internship.service.SGKExportService;
 import com.internship.service.SGKService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Tag(name = "SGK Declarations")
@@ -26,16 +44,18 @@ public class SGKController {
 
     private final SGKService sgkService;
     private final UserSecurity userSecurity;
+    private final FileStorageService fileStorageService;
+    private final SGKBatchService sgkBatchService;
+    private final SGKExportService sgkExportService;
     private static final Logger logger = LoggerFactory.getLogger(SGKController.class);
 
-    @Operation(summary = "SGK bildirimi oluştur")
+    @Operation(summary = "SGK bildirimi oluştur",
+            description = "Bildirim numarası sunucuda üretilir. Staj için bildirim zaten varsa 200 ile mevcut bildirim döner, istek güvenle tekrarlanabilir")
     @PostMapping("/declarations/{internshipId}")
     @PreAuthorize("hasRole('UNIVERSITY_COORDINATOR')")
-    public ResponseEntity<?> createDeclaration(
-            @PathVariable Long internshipId,
-            @RequestParam String declarationNumber) {
+    public ResponseEntity<?> createDeclaration(@PathVariable Long internshipId) {
         
-        logger.info("Creating SGK declaration for internship ID: {} with number: {}", internshipId, declarationNumber);
+        logger.info("Creating SGK declaration for internship ID: {}", internshipId);
         
         if (!userSecurity.canAccessInternship(internshipId)) {
             logger.warn("Access denied for user to create SGK declaration for internship ID: {}", internshipId);
@@ -43,12 +63,15 @@ public class SGKController {
         }
         
         try {
-            SGKDeclaration declaration = sgkService.createDeclaration(internshipId, declarationNumber);
-            Map<String, Object> response = simplifyDeclaration(declaration);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (IllegalStateException e) {
-            logger.error("Failed to create SGK declaration: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            SGKDeclarationCreation creation = sgkService.createDeclaration(internshipId);
+            Map<String, Object> response = simplifyDeclaration(creation.getDeclaration());
+            return ResponseEntity.status(creation.isCreated() ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+        } catch (DataIntegrityViolationException e) {
+            // Toplu iş aynı anda aynı staja bildirim eklediyse benzersiz indeks ikinci satırı engeller
+            logger.warn("SGK declaration for internship ID: {} was created concurrently", internshipId);
+            return sgkService.getDeclarationByInternshipId(internshipId)
+                    .<ResponseEntity<?>>map(declaration -> ResponseEntity.ok(simplifyDeclaration(declaration)))
+                    .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
         } catch (Exception e) {
             logger.error("Error creating SGK declaration", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -156,6 +179,83 @@ public class SGKController {
         }
     }
 
+    @Operation(summary = "SGK bildirim belgesini indir",
+            description = "Belge bildirim ve staj bilgileri değişmediyse yeniden üretilmez")
+    @GetMapping("/declarations/{internshipId}/document/file")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Resource> downloadDeclarationDocument(@PathVariable Long internshipId) {
+        
+        if (!userSecurity.canAccessInternship(internshipId)) {
+            logger.warn("Access denied for user to download SGK declaration document for internship ID: {}", internshipId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        Resource resource = fileStorageService.loadAsResource(sgkService.generateDeclarationDocument(internshipId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sgk_bildirim_" + internshipId + ".pdf\"")
+                .body(resource);
+    }
+
+    @Operation(summary = "Dönem için toplu SGK bildirimi başlat",
+            description = "Dönem içinde başlayan, koordinatör onaylı ve bildirimi olmayan stajlar için bildirim ve belgeleri arka planda oluşturur")
+    @PostMapping("/batches")
+    @PreAuthorize("hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<?> startBatch(@Valid @RequestBody SGKBatchRequest request) {
+        
+        logger.info("Starting SGK batch for internships starting {} - {}", request.getPeriodStart(), request.getPeriodEnd());
+        
+        try {
+            SGKBatchStatus status = sgkBatchService.startBatch(request.getPeriodStart(), request.getPeriodEnd(),
+                    userSecurity.getCurrentUser().getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.warn("SGK batch not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Toplu SGK bildirim işinin durumunu getir")
+    @GetMapping("/batches/{jobId}")
+    @PreAuthorize("hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<SGKBatchStatus> getBatchStatus(@PathVariable String jobId) {
+        return sgkBatchService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Son toplu SGK bildirim işlerini listele")
+    @GetMapping("/batches")
+    @PreAuthorize("hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<List<SGKBatchStatus>> getRecentBatches() {
+        return ResponseEntity.ok(sgkBatchService.getRecentJobs());
+    }
+
+    @Operation(summary = "Dönem için toplu SGK bildirge dosyasını indir",
+            description = "Verilen aralıkla çakışan aktif bildirimleri sabit uzunluklu metin (FIXED_WIDTH) veya XML olarak akış halinde döner")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<StreamingResponseBody> exportDeclarations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "FIXED_WIDTH") SGKExportFormat format) {
+        // Akış başladıktan sonra durum kodu değiştirilemediği için tarih kontrolü burada yapılır
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+        boolean xml = format == SGKExportFormat.XML;
+        String fileName = "sgk_export_" + from + "_" + to + (xml ? ".xml" : ".txt");
+        StreamingResponseBody body = out -> sgkExportService.export(from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(xml
+                        ? new MediaType(MediaType.APPLICATION_XML, StandardCharsets.UTF_8)
+                        : new MediaType(MediaType.TEXT_PLAIN, SGKExportService.FIXED_WIDTH_CHARSET))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     @Operation(summary = "SGK bildiriminin işlenip işlenmediğini kontrol et")
     @GetMapping("/declarations/{internshipId}/status")
     @PreAuthorize("hasRole('STUDENT') or hasRole('FACULTY_ADVISOR') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
@@ -0,0 +1,57 @@
+package com.internship.controller;
+
+import com.internship.dto.SearchResponse;
+import com.internship.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.Map;
+
+@Tag(name = "Search")
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+
+    private final SearchService searchService;
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    @Operation(summary = "Staj, belge ve raporlarda tam metin arama",
+            description = "Şirket adı, açıklama, rapor başlığı ve PDF içeriklerinde arar; eşleşen kısımları <em> ile işaretler")
+    @GetMapping
+    @PreAuthorize("hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<?> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.info("Searching for: {}, page: {}, size: {}", query, page, size);
+
+        try {
+            SearchResponse response = searchService.search(query, page, size);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Arama indeksini veritabanından yeniden oluştur")
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Map<String, String>> rebuildIndex() {
+        logger.info("Search index rebuild requested");
+        searchService.rebuildIndex();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Collections.singletonMap("message", "Arama indeksi yeniden oluşturuluyor"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.internship.controller;
+
+import com.internship.service.InternshipStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Tag(name = "Statistics")
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class StatsController {
+
+    private final InternshipStatisticsService statisticsService;
+
+    @Operation(summary = "Durum, tür ve ücret bazında staj sayıları",
+            description = "Sayılar servisler tarafından güncel tutulan istatistik tablosundan okunur")
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DEPARTMENT_COORDINATOR') or hasRole('UNIVERSITY_COORDINATOR')")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(statisticsService.getStatistics());
+    }
+
+    @Operation(summary = "İstatistik tablosunu stajlardan yeniden hesapla")
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcile() {
+        return ResponseEntity.ok(statisticsService.reconcile());
+    }
+}
@@ -0,0 +1,48 @@
+package com.internship.controller;
+
+import com.internship.dto.ReconciliationReport;
+import com.internship.service.StorageReconciliationService;
+import com.internship.service.StorageTieringService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Tag(name = "Storage")
+@RestController
+@RequestMapping("/api/storage")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class StorageController {
+
+    private final StorageReconciliationService reconciliationService;
+    private final StorageTieringService tieringService;
+
+    @Operation(summary = "Son depolama mutabakatı sonucunu getir")
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReport> getLastReconciliation() {
+        return reconciliationService.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @Operation(summary = "Depolama mutabakatının bir sonraki adımını hemen çalıştır",
+            description = "Sahipsiz dosyaları ve dosyası olmayan kayıtları bir sonraki dizin ve kayıt grubu için kontrol eder")
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReport> runReconciliation() {
+        return ResponseEntity.ok(reconciliationService.reconcileNextBatch());
+    }
+
+    @Operation(summary = "Soğuk dosyaları arşiv katmanına taşı",
+            description = "Tamamlanmış ve bitiş tarihi üzerinden bir yıldan fazla geçmiş stajların dosyalarını sıkıştırıp arşiv dizinine taşır")
+    @PostMapping("/tiering")
+    public ResponseEntity<Map<String, Object>> runTiering() {
+        return ResponseEntity.ok(tieringService.archiveColdFiles());
+    }
+}
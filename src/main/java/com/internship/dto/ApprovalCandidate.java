@@ -0,0 +1,23 @@
+package com.internship.dto;
+
+import com.internship.entity.InternshipStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toplu onayda yetki ve durum kontrolü için stajın sadece gerekli alanları.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ApprovalCandidate {
+    private Long id;
+    private InternshipStatus status;
+    private Long version;
+    private Long studentId;
+    private Long advisorId;
+    private LocalDateTime statusChangedAt;
+}
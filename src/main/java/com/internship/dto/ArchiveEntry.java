@@ -0,0 +1,19 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * ZIP arşivine yazılacak tek bir dosya: arşiv içindeki yolu ve diskteki kaynağı.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ArchiveEntry {
+    private String entryName;
+    private String filePath;
+    private LocalDateTime lastModified;
+}
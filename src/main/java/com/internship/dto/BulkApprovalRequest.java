@@ -0,0 +1,31 @@
+package com.internship.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApprovalRequest {
+    public enum Action {
+        APPROVE,
+        REJECT
+    }
+
+    @NotEmpty(message = "En az bir staj seçilmelidir")
+    @Size(max = 200, message = "Tek seferde en fazla 200 staj işlenebilir")
+    private List<Long> internshipIds;
+
+    @NotNull(message = "İşlem türü zorunludur")
+    private Action action;
+
+    private String comment;
+}
@@ -0,0 +1,18 @@
+package com.internship.dto;
+
+import com.internship.entity.InternshipStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApprovalResult {
+    private Long internshipId;
+    private boolean success;
+    private InternshipStatus status;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortAnalytics {
+    private LocalDateTime generatedAt;
+    private LocalDate activeOn;
+    private long totalInternships;
+    private long totalRequiredWorkDays;
+    private long activeInternships;
+    private Map<String, Long> activeByStatus;
+    private List<Map<String, Object>> byStatusAndType;
+    private List<Map<String, Object>> byStartMonth;
+    private List<Map<String, Object>> scheduledDaysByMonth;
+}
@@ -0,0 +1,20 @@
+package com.internship.dto;
+
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * İstatistik satırını belirleyen staj alanları.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class InternshipStatisticKey {
+    private Long internshipId;
+    private InternshipStatus status;
+    private InternshipType type;
+    private Boolean paid;
+}
@@ -0,0 +1,36 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReport {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int scannedDirectories;
+    private int scannedFiles;
+    private int scannedDocuments;
+    private int scannedReports;
+    @Builder.Default
+    private List<String> removedFiles = new ArrayList<>();
+    @Builder.Default
+    private List<String> prunedDirectories = new ArrayList<>();
+    @Builder.Default
+    private List<Long> danglingDocumentIds = new ArrayList<>();
+    @Builder.Default
+    private List<Long> danglingReportIds = new ArrayList<>();
+    private boolean danglingRowsRemoved;
+    private Map<String, Long> directoryCursors;
+    private Long documentCursor;
+    private Long reportCursor;
+}
@@ -0,0 +1,21 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Toplu SGK bildiriminde satır eklemek ve bildirim göndermek için stajın gerekli alanları.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SGKBatchCandidate {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long studentId;
+    private Long advisorId;
+}
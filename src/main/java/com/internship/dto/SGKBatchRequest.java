@@ -0,0 +1,21 @@
+package com.internship.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SGKBatchRequest {
+    @NotNull(message = "Dönem başlangıç tarihi zorunludur")
+    private LocalDate periodStart;
+
+    @NotNull(message = "Dönem bitiş tarihi zorunludur")
+    private LocalDate periodEnd;
+}
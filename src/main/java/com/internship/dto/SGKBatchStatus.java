@@ -0,0 +1,38 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SGKBatchStatus {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private State state;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Long requestedBy;
+    private int total;
+    private int created;
+    private int skipped;
+    private int rendered;
+    private int renderFailed;
+    private List<String> errors;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,16 @@
+package com.internship.dto;
+
+import com.internship.entity.SGKDeclaration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Oluşturma isteğinin sonucu. Staj için bildirim zaten varsa mevcut bildirim döner ve
+ * {@code created} false olur; aynı istek tekrar gönderildiğinde ikinci bildirim açılmaz.
+ */
+@Getter
+@AllArgsConstructor
+public class SGKDeclarationCreation {
+    private SGKDeclaration declaration;
+    private boolean created;
+}
@@ -0,0 +1,6 @@
+package com.internship.dto;
+
+public enum SGKExportFormat {
+    FIXED_WIDTH,
+    XML
+}
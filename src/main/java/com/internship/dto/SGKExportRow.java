@@ -0,0 +1,32 @@
+package com.internship.dto;
+
+import com.internship.entity.InternshipType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Toplu SGK dosyasında bir sigortalı satırı için gereken bildirim, öğrenci ve işyeri alanları.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SGKExportRow {
+    private Long declarationId;
+    private String declarationNumber;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long internshipId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String companyName;
+    private String companyAddress;
+    private String companyPhone;
+    private InternshipType type;
+    private Integer workDays;
+    private Boolean paid;
+}
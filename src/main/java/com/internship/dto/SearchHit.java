@@ -0,0 +1,21 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private String type;
+    private Long id;
+    private Long internshipId;
+    private String title;
+    private float score;
+    private List<String> highlights;
+}
@@ -0,0 +1,20 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+    private String query;
+    private long totalHits;
+    private int page;
+    private int size;
+    private List<SearchHit> hits;
+}
@@ -0,0 +1,20 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Depolama kontrolleri için dosya kaydının sadece kimlik ve yol bilgisi.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StoredFileRef {
+    private Long id;
+    private Long internshipId;
+    private String filePath;
+    private LocalDateTime uploadedAt;
+}
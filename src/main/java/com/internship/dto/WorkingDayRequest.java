@@ -0,0 +1,23 @@
+package com.internship.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * workDate verilirse o tarih için tek gün, verilmezse dayOfWeek için haftalık program satırıdır.
+ */
+@Data
+public class WorkingDayRequest {
+    private LocalDate workDate;
+
+    private DayOfWeek dayOfWeek;
+
+    @NotBlank(message = "Başlangıç saati zorunludur")
+    private String startTime;
+
+    @NotBlank(message = "Bitiş saati zorunludur")
+    private String endTime;
+}
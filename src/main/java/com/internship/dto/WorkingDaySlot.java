@@ -0,0 +1,20 @@
+package com.internship.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Çalışma programı karşılaştırması için günün sadece tarih ve saat bilgisi.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WorkingDaySlot {
+    private Long id;
+    private LocalDate workDate;
+    private String startTime;
+    private String endTime;
+}
@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "application_approvals")
+@Table(name = "application_approvals", indexes = {
+        @Index(name = "idx_approvals_internship_role_status", columnList = "internship_id, approver_role, status")
+})
 @Getter
 @Setter
 @ToString(exclude = {"internship", "approver"})
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ApplicationApproval {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_approvals_seq")
+    @SequenceGenerator(name = "application_approvals_seq", sequenceName = "application_approvals_seq", allocationSize = 50)
     private Long id;
 
     @JsonBackReference
@@ -29,6 +32,10 @@ public class ApplicationApproval {
     @JoinColumn(name = "approver_id", nullable = false)
     private User approver;
 
+    // Onay anındaki rol saklanır, rol sorguları approver'ı yüklemeden indeksten cevaplanır
+    @Column(name = "approver_role", length = 50)
+    private String approverRole;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private InternshipStatus status;
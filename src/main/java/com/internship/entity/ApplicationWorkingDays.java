@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "application_working_days")
+@Table(name = "application_working_days", indexes = {
+        @Index(name = "idx_working_days_internship_date", columnList = "internship_id, work_date")
+})
 @Getter
 @Setter
 @ToString(exclude = "internship")
@@ -16,13 +19,18 @@ import java.time.DayOfWeek;
 @AllArgsConstructor
 public class ApplicationWorkingDays {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_working_days_seq")
+    @SequenceGenerator(name = "application_working_days_seq", sequenceName = "application_working_days_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "internship_id", nullable = false)
     private Internship internship;
 
+    // Haftalık programdan takvime açılmış somut çalışma günü
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DayOfWeek dayOfWeek;
@@ -0,0 +1,56 @@
+package com.internship.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Staj onay sürecindeki her adım için eklenen, değiştirilmeyen kayıt. Staj silinse bile
+ * geçmiş korunsun diye ilişkiler yerine düz id kolonları tutulur.
+ */
+@Entity
+@Table(name = "approval_events", indexes = {
+        @Index(name = "idx_approval_events_internship", columnList = "internship_id, id")
+})
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApprovalEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "internship_id", nullable = false, updatable = false)
+    private Long internshipId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 30)
+    private ApprovalEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private InternshipStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private InternshipStatus toStatus;
+
+    @Column(updatable = false)
+    private Long actorId;
+
+    @Column(updatable = false, length = 50)
+    private String actorRole;
+
+    // Danışman ataması gibi olaylarda işlemden etkilenen kullanıcı
+    @Column(updatable = false)
+    private Long relatedUserId;
+
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String comment;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.internship.entity;
+
+public enum ApprovalEventType {
+    CREATED,
+    ADVISOR_ASSIGNED,
+    APPROVED,
+    REJECTED,
+    REVISION_REQUESTED,
+    STATUS_CHANGED;
+
+    // Durum geçişinden hangi olay tipinin yazılacağını belirler
+    public static ApprovalEventType forTransition(InternshipStatus target) {
+        switch (target) {
+            case ADVISOR_APPROVED:
+            case COORDINATOR_APPROVED:
+                return APPROVED;
+            case REJECTED:
+                return REJECTED;
+            case PENDING:
+                return REVISION_REQUESTED;
+            default:
+                return STATUS_CHANGED;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.internship.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "holidays", indexes = {
+        @Index(name = "idx_holidays_date", columnList = "holiday_date")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holiday {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HolidayScope scope;
+
+    // Sabit tarihli bayramlar her yıl aynı gün ve ayda tekrarlanır, yılı dikkate alınmaz
+    @Column(nullable = false)
+    private boolean recurring;
+}
@@ -0,0 +1,6 @@
+package com.internship.entity;
+
+public enum HolidayScope {
+    NATIONAL,
+    UNIVERSITY
+}
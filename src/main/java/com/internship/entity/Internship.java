@@ -2,11 +2,14 @@ package com.internship.entity;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,7 +19,11 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "internships")
+@Table(name = "internships", indexes = {
+        @Index(name = "idx_internships_status_changed", columnList = "status, status_changed_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "internships")
 @Getter
 @Setter
 @ToString(exclude = {"documents", "workingDays", "approvals", "reports", "sgkDeclaration"})
@@ -71,6 +78,20 @@ public class Internship {
     @Builder.Default
     private InternshipStatus status = InternshipStatus.PENDING;
 
+    // Eşzamanlı güncellemelerde son yazanın kazanmasını engeller
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // SLA takibi için stajın mevcut duruma geçtiği an, her durum değişikliğinde yenilenir
+    @Column(name = "status_changed_at")
+    @Builder.Default
+    private LocalDateTime statusChangedAt = LocalDateTime.now();
+
+    // Mevcut durumda gecikme bildirimi gönderildiyse zamanı, durum değişince sıfırlanır
+    @Column(name = "sla_escalated_at")
+    private LocalDateTime slaEscalatedAt;
+
     private String rejectionReason;
 
     private String documentPath;
@@ -85,7 +106,9 @@ public class Internship {
     @JsonIgnoreProperties("internship")
     private Set<Document> documents = new HashSet<>();
 
+    // Uzun stajlarda yüzlerce gün olabileceği için çalışma günleri sayfalı uç noktadan okunur
     @OneToMany(mappedBy = "internship", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
     private Set<ApplicationWorkingDays> workingDays = new HashSet<>();
 
     @OneToMany(mappedBy = "internship", cascade = CascadeType.ALL, orphanRemoval = true)
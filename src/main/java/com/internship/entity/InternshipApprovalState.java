@@ -0,0 +1,64 @@
+package com.internship.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Onay olaylarından artımlı olarak güncellenen, staj başına tek satırlık güncel durum.
+ * Zaman çizelgesi JSON olarak aynı satırda tutulur, okuma tarafında join ve sıralama gerekmez.
+ */
+@Entity
+@Table(name = "internship_approval_states", indexes = {
+        @Index(name = "idx_approval_states_status", columnList = "current_status, last_event_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InternshipApprovalState {
+    @Id
+    @Column(name = "internship_id")
+    private Long internshipId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_status")
+    private InternshipStatus currentStatus;
+
+    private Long advisorId;
+
+    private Long lastEventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private ApprovalEventType lastEventType;
+
+    private Long lastActorId;
+
+    @Column(length = 50)
+    private String lastActorRole;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastComment;
+
+    @Column(name = "last_event_at")
+    private LocalDateTime lastEventAt;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime advisorAssignedAt;
+
+    private LocalDateTime advisorApprovedAt;
+
+    private LocalDateTime coordinatorApprovedAt;
+
+    private LocalDateTime rejectedAt;
+
+    private int revisionCount;
+
+    private int eventCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String timeline;
+}
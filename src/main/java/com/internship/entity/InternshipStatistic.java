@@ -0,0 +1,42 @@
+package com.internship.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durum, tür ve ücret bilgisine göre staj sayısı. Her kombinasyon için tek satır tutulur ve
+ * staj servisleri bu satırları artırıp azaltır; panolar stajlar tablosunu taramadan okur.
+ */
+@Entity
+@Table(name = "internship_statistics", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_internship_statistics_key", columnNames = {"status", "type", "paid"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InternshipStatistic {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InternshipStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InternshipType type;
+
+    @Column(nullable = false)
+    private boolean paid;
+
+    @Column(name = "internship_count", nullable = false)
+    private long count;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime reconciledAt;
+}
@@ -1,10 +1,37 @@
 package com.internship.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum InternshipStatus {
     PENDING,
     PENDING_ADVISOR_APPROVAL,
     ADVISOR_APPROVED,
     COORDINATOR_APPROVED,
     REJECTED,
-    COMPLETED
-} 
\ No newline at end of file
+    COMPLETED;
+
+    // Onay akışındaki izin verilen geçişler; PENDING'e dönüş revizyon isteğini ifade eder.
+    // Aynı duruma geçiş yoktur: hiçbir şey değişmeden versiyon, onay/olay kaydı ve bildirim üretirdi
+    private static final Map<InternshipStatus, Set<InternshipStatus>> TRANSITIONS = new EnumMap<>(InternshipStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(PENDING_ADVISOR_APPROVAL, ADVISOR_APPROVED, REJECTED));
+        TRANSITIONS.put(PENDING_ADVISOR_APPROVAL, EnumSet.of(PENDING, ADVISOR_APPROVED, REJECTED));
+        TRANSITIONS.put(ADVISOR_APPROVED, EnumSet.of(PENDING, COORDINATOR_APPROVED, REJECTED));
+        TRANSITIONS.put(COORDINATOR_APPROVED, EnumSet.of(PENDING, COMPLETED, REJECTED));
+        TRANSITIONS.put(REJECTED, EnumSet.of(PENDING));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(InternshipStatus.class));
+    }
+
+    public boolean canTransitionTo(InternshipStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    public Set<InternshipStatus> allowedTransitions() {
+        return Collections.unmodifiableSet(TRANSITIONS.get(this));
+    }
+}
@@ -0,0 +1,70 @@
+package com.internship.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * roles tablosundaki rollerin sabit listesi. Her rolün users.role_mask kolonunda bir biti vardır;
+ * bit değerleri V4__user_role_mask.sql ile aynı olmalı ve değiştirilmemelidir, yeni rol yeni bit alır.
+ */
+public enum RoleType {
+    STUDENT(1),
+    FACULTY_ADVISOR(1 << 1),
+    DEPARTMENT_COORDINATOR(1 << 2),
+    UNIVERSITY_COORDINATOR(1 << 3),
+    ADMIN(1 << 4),
+    USER(1 << 5);
+
+    private static final String PREFIX = "ROLE_";
+
+    private final int bit;
+
+    RoleType(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public String getAuthority() {
+        return PREFIX + name();
+    }
+
+    // "STUDENT" ve "ROLE_STUDENT" aynı rolü verir, bilinmeyen adlar için null döner
+    public static RoleType fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String plain = name.startsWith(PREFIX) ? name.substring(PREFIX.length()) : name;
+        for (RoleType type : values()) {
+            if (type.name().equals(plain)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public static int maskOf(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            RoleType type = fromName(role.getName());
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown role: " + role.getName());
+            }
+            mask |= type.bit;
+        }
+        return mask;
+    }
+
+    public static List<RoleType> fromMask(int mask) {
+        List<RoleType> types = new ArrayList<>();
+        for (RoleType type : values()) {
+            if ((mask & type.bit) != 0) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+}
@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "sgk_declarations")
+@Table(name = "sgk_declarations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sgk_declarations_number", columnNames = "declaration_number")
+})
 @Getter
 @Setter
 @ToString(exclude = "internship")
@@ -22,12 +24,13 @@ public class SGKDeclaration {
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "internship_id", nullable = false)
+    @JoinColumn(name = "internship_id", nullable = false, unique = true)
     @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
     @JsonIdentityReference(alwaysAsId = true)
     private Internship internship;
 
-    @Column(nullable = false)
+    // SGKDeclarationNumberService tarafından üretilir
+    @Column(nullable = false, updatable = false)
     private String declarationNumber;
 
     @Column(nullable = false)
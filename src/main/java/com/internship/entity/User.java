@@ -7,6 +7,8 @@ import com.fasterxml.jackson.annotation.JsonIdentityReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +18,8 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Data
 @Builder
 @NoArgsConstructor
@@ -42,7 +46,8 @@ public class User implements UserDetails {
     @Column
     private String phoneNumber;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -50,6 +55,11 @@ public class User implements UserDetails {
     )
     private List<Role> roles;
 
+    // roles listesinin RoleType bit maskesi; yetki kontrolleri user_roles tablosuna gitmeden bundan yapılır
+    @JsonIgnore
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask;
+
     @JsonIgnore
     @OneToMany(mappedBy = "student", fetch = FetchType.LAZY)
     @Builder.Default
@@ -75,8 +85,8 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
+        return RoleType.fromMask(roleMask).stream()
+                .map(type -> new SimpleGrantedAuthority(type.getAuthority()))
                 .collect(Collectors.toList());
     }
 
@@ -107,24 +117,36 @@ public class User implements UserDetails {
 
     public void addRole(Role role) {
         roles.add(role);
+        roleMask = RoleType.maskOf(roles);
     }
 
     public void removeRole(Role role) {
         roles.remove(role);
+        roleMask = RoleType.maskOf(roles);
     }
 
     public void setRoles(List<Role> roles) {
         this.roles = roles;
+        this.roleMask = roles != null ? RoleType.maskOf(roles) : 0;
+    }
+
+    // Builder roller listesini setter'a uğramadan atadığı için maske ilk kayıtta hesaplanır
+    @PrePersist
+    void initRoleMask() {
+        if (roles != null) {
+            roleMask = RoleType.maskOf(roles);
+        }
     }
 
     public boolean hasRole(String roleName) {
-        String roleWithPrefix = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-        return roles.stream()
-                .anyMatch(role -> role.getName().equals(roleWithPrefix));
+        RoleType type = RoleType.fromName(roleName);
+        return type != null && (roleMask & type.getBit()) != 0;
     }
 
+    // Onay ve olay kayıtlarına yazılan rol; maskeden değil roller listesinin sırasından alınır,
+    // birden fazla rolü olan kullanıcılarda önceki kayıtlarla aynı rol yazılır
     public String getRole() {
-        return roles.stream()
+        return roles == null ? null : roles.stream()
                 .findFirst()
                 .map(Role::getName)
                 .orElse(null);
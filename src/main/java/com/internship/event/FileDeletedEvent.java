@@ -0,0 +1,18 @@
+package com.internship.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Bir belge veya rapor kaydı ve dosyası silindiğinde yayınlanır.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FileDeletedEvent {
+    private final StoredFileType fileType;
+    private final Long fileId;
+    private final Long internshipId;
+    private final String filePath;
+}
@@ -0,0 +1,18 @@
+package com.internship.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Bir belge veya rapor dosyası diske yazılıp veritabanına kaydedildiğinde yayınlanır.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FileUploadedEvent {
+    private final StoredFileType fileType;
+    private final Long fileId;
+    private final Long internshipId;
+    private final String filePath;
+}
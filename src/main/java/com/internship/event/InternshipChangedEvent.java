@@ -0,0 +1,16 @@
+package com.internship.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Bir staj kaydı oluşturulduğunda, güncellendiğinde veya silindiğinde yayınlanır.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class InternshipChangedEvent {
+    private final Long internshipId;
+    private final boolean deleted;
+}
@@ -0,0 +1,6 @@
+package com.internship.event;
+
+public enum StoredFileType {
+    DOCUMENT,
+    REPORT
+}
@@ -0,0 +1,15 @@
+package com.internship.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Bir stajın çalışma günü programı kaydedildiğinde, güncellendiğinde veya silindiğinde yayınlanır.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WorkingDaysChangedEvent {
+    private final Long internshipId;
+}
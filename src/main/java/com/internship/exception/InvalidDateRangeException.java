@@ -0,0 +1,26 @@
+package com.internship.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDate;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidDateRangeException extends RuntimeException {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public InvalidDateRangeException(String message, LocalDate startDate, LocalDate endDate) {
+        super(message);
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
@@ -0,0 +1,25 @@
+package com.internship.exception;
+
+import com.internship.entity.InternshipStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InvalidStatusTransitionException extends RuntimeException {
+    private final InternshipStatus currentStatus;
+    private final InternshipStatus targetStatus;
+
+    public InvalidStatusTransitionException(String message, InternshipStatus currentStatus, InternshipStatus targetStatus) {
+        super(message);
+        this.currentStatus = currentStatus;
+        this.targetStatus = targetStatus;
+    }
+
+    public InternshipStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public InternshipStatus getTargetStatus() {
+        return targetStatus;
+    }
+}
@@ -0,0 +1,24 @@
+package com.internship.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidWorkDaysException extends RuntimeException {
+    private final int declaredWorkDays;
+    private final int businessDays;
+
+    public InvalidWorkDaysException(String message, int declaredWorkDays, int businessDays) {
+        super(message);
+        this.declaredWorkDays = declaredWorkDays;
+        this.businessDays = businessDays;
+    }
+
+    public int getDeclaredWorkDays() {
+        return declaredWorkDays;
+    }
+
+    public int getBusinessDays() {
+        return businessDays;
+    }
+}
@@ -3,18 +3,61 @@ package com.internship.repository;
 import com.internship.entity.ApplicationApproval;
 import com.internship.entity.InternshipStatus;
 import com.internship.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ApplicationApprovalRepository extends JpaRepository<ApplicationApproval, Long> {
-    List<ApplicationApproval> findByInternshipIdOrderByActionDateDesc(Long internshipId);
+    // Onay listeleri sadece okunur: entity'ler snapshot tutulmadan, salt okunur yüklenir.
+    // Türetilmiş sorgular staj/kullanıcı tablosuna LEFT JOIN ile gidip filtreyi o tablonun id'sine uyguladığı için
+    // koşullar doğrudan internship_id/approver_id kolonlarına yazılır
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ApplicationApproval a WHERE a.internship.id = :internshipId ORDER BY a.actionDate DESC")
+    List<ApplicationApproval> findByInternshipIdOrderByActionDateDesc(@Param("internshipId") Long internshipId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<ApplicationApproval> findByApproverOrderByActionDateDesc(User approver);
-    List<ApplicationApproval> findByApproverIdOrderByActionDateDesc(Long approverId);
-    Optional<ApplicationApproval> findFirstByInternshipIdOrderByActionDateDesc(Long internshipId);
-    List<ApplicationApproval> findByInternshipIdAndStatusOrderByActionDateDesc(Long internshipId, InternshipStatus status);
-    boolean existsByInternshipIdAndApproverId(Long internshipId, Long approverId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ApplicationApproval a WHERE a.approver.id = :approverId ORDER BY a.actionDate DESC")
+    List<ApplicationApproval> findByApproverIdOrderByActionDateDesc(@Param("approverId") Long approverId);
+    default Optional<ApplicationApproval> findFirstByInternshipIdOrderByActionDateDesc(Long internshipId) {
+        return findByInternshipIdOrderByActionDateDesc(internshipId, PageRequest.of(0, 1)).stream().findFirst();
+    }
+    @Query("SELECT a FROM ApplicationApproval a WHERE a.internship.id = :internshipId ORDER BY a.actionDate DESC")
+    List<ApplicationApproval> findByInternshipIdOrderByActionDateDesc(@Param("internshipId") Long internshipId, Pageable pageable);
+    @Query("SELECT a FROM ApplicationApproval a WHERE a.internship.id = :internshipId AND a.status = :status ORDER BY a.actionDate DESC")
+    List<ApplicationApproval> findByInternshipIdAndStatusOrderByActionDateDesc(@Param("internshipId") Long internshipId, @Param("status") InternshipStatus status);
+    @Query("SELECT COUNT(a) > 0 FROM ApplicationApproval a WHERE a.internship.id = :internshipId AND a.approver.id = :approverId")
+    boolean existsByInternshipIdAndApproverId(@Param("internshipId") Long internshipId, @Param("approverId") Long approverId);
+    @Query("SELECT COUNT(a) > 0 FROM ApplicationApproval a WHERE a.internship.id = :internshipId AND a.approverRole = :approverRole")
+    boolean existsByInternshipIdAndApproverRole(@Param("internshipId") Long internshipId, @Param("approverRole") String approverRole);
+    @Query("SELECT COUNT(a) > 0 FROM ApplicationApproval a " +
+           "WHERE a.internship.id = :internshipId AND a.approverRole = :approverRole AND a.status = :status")
+    boolean existsByInternshipIdAndApproverRoleAndStatus(@Param("internshipId") Long internshipId, @Param("approverRole") String approverRole,
+                                                         @Param("status") InternshipStatus status);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ApplicationApproval a " +
+           "WHERE a.internship.id = :internshipId AND a.approverRole = :approverRole AND a.status = :status ORDER BY a.actionDate DESC")
+    List<ApplicationApproval> findByInternshipIdAndApproverRoleAndStatusOrderByActionDateDesc(@Param("internshipId") Long internshipId,
+                                                                                              @Param("approverRole") String approverRole,
+                                                                                              @Param("status") InternshipStatus status);
+
+    // approver_role kolonundan önce yazılmış kayıtlar için onaylayanın rolünü doldurur
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE application_approvals SET approver_role = " +
+            "(SELECT MIN(r.name) FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = application_approvals.approver_id) " +
+            "WHERE approver_role IS NULL", nativeQuery = true)
+    int backfillApproverRoles();
 } 
\ No newline at end of file
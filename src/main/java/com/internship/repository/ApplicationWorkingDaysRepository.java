@@ -1,22 +1,59 @@
 package com.internship.repository;
 
+import com.internship.dto.WorkingDaySlot;
 import com.internship.entity.ApplicationWorkingDays;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ApplicationWorkingDaysRepository extends JpaRepository<ApplicationWorkingDays, Long> {
     
+    // Türetilmiş sorgular staj tablosuna LEFT JOIN ile gidip filtreyi i.id üzerinde uyguladığı için
+    // koşul doğrudan internship_id kolonuna yazılır
+    @Query("SELECT w FROM ApplicationWorkingDays w WHERE w.internship.id = ?1")
     List<ApplicationWorkingDays> findByInternshipId(Long internshipId);
-    
-    // Tarihe göre filtreleme kaldırıldı, bu işlev servis katmanında yapılacak
+
+    // (internship_id, work_date) indeksi üzerinden tarih aralığı; sonuçlar sadece okunduğu için salt okunur yüklenir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT w FROM ApplicationWorkingDays w WHERE w.internship.id = ?1 AND w.workDate BETWEEN ?2 AND ?3 ORDER BY w.workDate")
+    List<ApplicationWorkingDays> findByInternshipIdAndWorkDateBetweenOrderByWorkDateAsc(Long internshipId, LocalDate startDate, LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT w FROM ApplicationWorkingDays w WHERE w.internship.id = ?1 AND w.workDate BETWEEN ?2 AND ?3")
+    Page<ApplicationWorkingDays> findByInternshipIdAndWorkDateBetween(Long internshipId, LocalDate startDate, LocalDate endDate, Pageable pageable);
     
     @Query("SELECT COUNT(w) FROM ApplicationWorkingDays w WHERE w.internship.id = ?1")
     int countWorkingDaysByInternshipId(Long internshipId);
     
-    void deleteByInternshipId(Long internshipId);
-} 
\ No newline at end of file
+    // Türetilmiş silme her satırı yükleyip tek tek sildiği için tek DELETE ifadesi kullanılır
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ApplicationWorkingDays w WHERE w.internship.id = ?1")
+    int deleteByInternshipId(Long internshipId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ApplicationWorkingDays w WHERE w.id IN ?1")
+    int deleteByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.internship.dto.WorkingDaySlot(w.id, w.workDate, w.startTime, w.endTime) " +
+           "FROM ApplicationWorkingDays w WHERE w.internship.id = ?1")
+    List<WorkingDaySlot> findSlotsByInternshipId(Long internshipId);
+
+    @Query("SELECT DISTINCT w.dayOfWeek FROM ApplicationWorkingDays w WHERE w.internship.id = ?1")
+    List<DayOfWeek> findDaysOfWeekByInternshipId(Long internshipId);
+
+    @Query("SELECT YEAR(w.workDate), MONTH(w.workDate), COUNT(w), COUNT(DISTINCT w.internship.id) FROM ApplicationWorkingDays w " +
+           "WHERE w.workDate IS NOT NULL GROUP BY YEAR(w.workDate), MONTH(w.workDate) ORDER BY YEAR(w.workDate), MONTH(w.workDate)")
+    List<Object[]> countScheduledDaysByMonth();
+}
@@ -0,0 +1,17 @@
+package com.internship.repository;
+
+import com.internship.entity.ApprovalEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApprovalEventRepository extends JpaRepository<ApprovalEvent, Long> {
+    List<ApprovalEvent> findByInternshipIdOrderByIdAsc(Long internshipId);
+    boolean existsByInternshipId(Long internshipId);
+
+    // idx_approval_events_internship (internship_id, id) üzerinden geriye doğru sayfalama
+    List<ApprovalEvent> findByInternshipIdAndIdLessThanOrderByIdDesc(Long internshipId, Long beforeId, Pageable pageable);
+}
@@ -1,24 +1,45 @@
 package com.internship.repository;
 
+import com.internship.dto.StoredFileRef;
 import com.internship.entity.Document;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     
-    List<Document> findByInternshipId(Long internshipId);
+    // Türetilmiş sorgular staj tablosuna LEFT JOIN ile gidip filtreyi i.id üzerinde uyguladığı için
+    // koşul doğrudan internship_id kolonuna yazılır
+    @Query("SELECT d FROM Document d WHERE d.internship.id = :internshipId")
+    List<Document> findByInternshipId(@Param("internshipId") Long internshipId);
     
-    List<Document> findByInternshipIdAndFileType(Long internshipId, String fileType);
+    @Query("SELECT d FROM Document d WHERE d.internship.id = :internshipId AND d.fileType = :fileType")
+    List<Document> findByInternshipIdAndFileType(@Param("internshipId") Long internshipId, @Param("fileType") String fileType);
     
-    Optional<Document> findFirstByInternshipIdOrderByUploadedAtDesc(Long internshipId);
+    default Optional<Document> findFirstByInternshipIdOrderByUploadedAtDesc(Long internshipId) {
+        return findByInternshipIdOrderByUploadedAtDesc(internshipId, PageRequest.of(0, 1)).stream().findFirst();
+    }
     
-    void deleteByInternshipId(Long internshipId);
+    @Query("SELECT d FROM Document d WHERE d.internship.id = :internshipId ORDER BY d.uploadedAt DESC")
+    List<Document> findByInternshipIdOrderByUploadedAtDesc(@Param("internshipId") Long internshipId, Pageable pageable);
+    
+    // Türetilmiş silme ile aynı şekilde satırları yükleyip tek tek siler
+    @Transactional
+    default void deleteByInternshipId(Long internshipId) {
+        deleteAll(findByInternshipId(internshipId));
+    }
     
     @Query("SELECT d FROM Document d JOIN FETCH d.internship WHERE d.internship.id = :internshipId")
     List<Document> findByInternshipIdWithInternship(@Param("internshipId") Long internshipId);
@@ -28,4 +49,34 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     
     @Query("SELECT d FROM Document d JOIN FETCH d.internship WHERE d.internship.id = :internshipId AND d.fileType = :fileType")
     List<Document> findByInternshipIdAndFileTypeWithInternship(@Param("internshipId") Long internshipId, @Param("fileType") String fileType);
-} 
\ No newline at end of file
+    
+    // Dönem sonu toplu arşiv indirme için başlangıç tarihine göre filtrelenmiş belgeler
+    @Query("SELECT d FROM Document d JOIN FETCH d.internship i " +
+           "WHERE i.startDate BETWEEN :from AND :to " +
+           "AND (:status IS NULL OR i.status = :status) AND (:type IS NULL OR i.type = :type) " +
+           "ORDER BY i.id, d.id")
+    List<Document> findForArchive(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  @Param("status") InternshipStatus status, @Param("type") InternshipType type);
+    
+    // Depolama mutabakatı için id sırasına göre keyset sayfalama
+    @Query("SELECT new com.internship.dto.StoredFileRef(d.id, d.internship.id, d.filePath, d.uploadedAt) FROM Document d " +
+           "WHERE d.id > :afterId ORDER BY d.id")
+    List<StoredFileRef> findFileRefsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT d.filePath FROM Document d WHERE d.internship.id = :internshipId")
+    List<String> findFilePathsByInternshipId(@Param("internshipId") Long internshipId);
+    
+    // Arşiv katmanına taşınacak, tamamlanmış ve bitiş tarihi eski stajlara ait dosyalar
+    @Query("SELECT new com.internship.dto.StoredFileRef(d.id, d.internship.id, d.filePath, d.uploadedAt) FROM Document d " +
+           "WHERE d.id > :afterId AND d.internship.status = :status AND d.internship.endDate < :endedBefore " +
+           "AND d.filePath NOT LIKE :archivedPattern ORDER BY d.id")
+    List<StoredFileRef> findColdFileRefs(@Param("afterId") Long afterId, @Param("status") InternshipStatus status,
+                                         @Param("endedBefore") LocalDate endedBefore,
+                                         @Param("archivedPattern") String archivedPattern, Pageable pageable);
+    
+    // Dosya taşınırken kayıt değiştiyse veya silindiyse güncelleme yapılmaz
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.filePath = :newPath WHERE d.id = :id AND d.filePath = :oldPath")
+    int updateFilePath(@Param("id") Long id, @Param("oldPath") String oldPath, @Param("newPath") String newPath);
+}
\ No newline at end of file
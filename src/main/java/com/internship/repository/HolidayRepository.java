@@ -0,0 +1,17 @@
+package com.internship.repository;
+
+import com.internship.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+    List<Holiday> findByRecurringTrue();
+
+    List<Holiday> findByRecurringFalseAndDateBetween(LocalDate from, LocalDate to);
+
+    List<Holiday> findAllByOrderByDateAsc();
+}
@@ -0,0 +1,22 @@
+package com.internship.repository;
+
+import com.internship.entity.InternshipApprovalState;
+import com.internship.entity.InternshipStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InternshipApprovalStateRepository extends JpaRepository<InternshipApprovalState, Long> {
+    List<InternshipApprovalState> findByCurrentStatusOrderByLastEventAtAsc(InternshipStatus status, Pageable pageable);
+
+    List<InternshipApprovalState> findAllByOrderByLastEventAtDesc(Pageable pageable);
+
+    // Projeksiyonu henüz oluşmamış stajlar (olay günlüğünden önce açılmış kayıtlar)
+    @Query("SELECT i.id FROM Internship i " +
+           "WHERE NOT EXISTS (SELECT s FROM InternshipApprovalState s WHERE s.internshipId = i.id) ORDER BY i.id")
+    List<Long> findInternshipIdsWithoutState(Pageable pageable);
+}
@@ -1,32 +1,85 @@
 package com.internship.repository;
 
+import com.internship.dto.StoredFileRef;
 import com.internship.entity.InternshipReport;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
 import com.internship.entity.ReportStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InternshipReportRepository extends JpaRepository<InternshipReport, Long> {
     
-    List<InternshipReport> findByInternshipId(Long internshipId);
+    // Türetilmiş sorgular staj tablosuna LEFT JOIN ile gidip filtreyi i.id üzerinde uyguladığı için
+    // koşul doğrudan internship_id kolonuna yazılır
+    @Query("SELECT r FROM InternshipReport r WHERE r.internship.id = :internshipId")
+    List<InternshipReport> findByInternshipId(@Param("internshipId") Long internshipId);
     
-    List<InternshipReport> findByInternshipIdAndStatus(Long internshipId, ReportStatus status);
+    @Query("SELECT r FROM InternshipReport r WHERE r.internship.id = :internshipId AND r.status = :status")
+    List<InternshipReport> findByInternshipIdAndStatus(@Param("internshipId") Long internshipId, @Param("status") ReportStatus status);
     
-    Optional<InternshipReport> findFirstByInternshipIdOrderByUploadedAtDesc(Long internshipId);
+    default Optional<InternshipReport> findFirstByInternshipIdOrderByUploadedAtDesc(Long internshipId) {
+        return findByInternshipIdOrderByUploadedAtDesc(internshipId, PageRequest.of(0, 1)).stream().findFirst();
+    }
     
-    void deleteByInternshipId(Long internshipId);
+    @Query("SELECT r FROM InternshipReport r WHERE r.internship.id = :internshipId ORDER BY r.uploadedAt DESC")
+    List<InternshipReport> findByInternshipIdOrderByUploadedAtDesc(@Param("internshipId") Long internshipId, Pageable pageable);
+    
+    // Türetilmiş silme ile aynı şekilde satırları yükleyip tek tek siler
+    @Transactional
+    default void deleteByInternshipId(Long internshipId) {
+        deleteAll(findByInternshipId(internshipId));
+    }
     
     @Query("SELECT r FROM InternshipReport r JOIN FETCH r.internship WHERE r.id = :id")
     Optional<InternshipReport> findByIdWithInternship(@Param("id") Long id);
     
+    // Listeleme için salt okunur yüklenir (rapor ve fetch edilen staj); güncelleme akışı findByIdWithInternship kullanır
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT r FROM InternshipReport r JOIN FETCH r.internship WHERE r.internship.id = :internshipId")
     List<InternshipReport> findByInternshipIdWithInternship(@Param("internshipId") Long internshipId);
-    
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT r FROM InternshipReport r JOIN FETCH r.internship WHERE r.internship.id = :internshipId AND r.status = :status")
     List<InternshipReport> findByInternshipIdAndStatusWithInternship(@Param("internshipId") Long internshipId, @Param("status") ReportStatus status);
-} 
\ No newline at end of file
+    
+    @Query("SELECT r FROM InternshipReport r JOIN FETCH r.internship i " +
+           "WHERE i.startDate BETWEEN :from AND :to " +
+           "AND (:status IS NULL OR i.status = :status) AND (:type IS NULL OR i.type = :type) " +
+           "ORDER BY i.id, r.id")
+    List<InternshipReport> findForArchive(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                          @Param("status") InternshipStatus status, @Param("type") InternshipType type);
+    
+    @Query("SELECT new com.internship.dto.StoredFileRef(r.id, r.internship.id, r.filePath, r.uploadedAt) FROM InternshipReport r " +
+           "WHERE r.id > :afterId ORDER BY r.id")
+    List<StoredFileRef> findFileRefsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT r.filePath FROM InternshipReport r WHERE r.internship.id = :internshipId")
+    List<String> findFilePathsByInternshipId(@Param("internshipId") Long internshipId);
+    
+    @Query("SELECT new com.internship.dto.StoredFileRef(r.id, r.internship.id, r.filePath, r.uploadedAt) FROM InternshipReport r " +
+           "WHERE r.id > :afterId AND r.internship.status = :status AND r.internship.endDate < :endedBefore " +
+           "AND r.filePath NOT LIKE :archivedPattern ORDER BY r.id")
+    List<StoredFileRef> findColdFileRefs(@Param("afterId") Long afterId, @Param("status") InternshipStatus status,
+                                         @Param("endedBefore") LocalDate endedBefore,
+                                         @Param("archivedPattern") String archivedPattern, Pageable pageable);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE InternshipReport r SET r.filePath = :newPath WHERE r.id = :id AND r.filePath = :oldPath")
+    int updateFilePath(@Param("id") Long id, @Param("oldPath") String oldPath, @Param("newPath") String newPath);
+}
\ No newline at end of file
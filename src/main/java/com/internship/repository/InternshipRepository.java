@@ -1,13 +1,27 @@
 package com.internship.repository;
 
+import com.internship.dto.ApprovalCandidate;
+import com.internship.dto.InternshipStatisticKey;
+import com.internship.dto.SGKBatchCandidate;
 import com.internship.entity.Internship;
 import com.internship.entity.InternshipStatus;
 import com.internship.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +31,11 @@ public interface InternshipRepository extends JpaRepository<Internship, Long> {
     List<Internship> findByAdvisor(User advisor);
     List<Internship> findByStatus(InternshipStatus status);
     
+    // Aynı staj için eşzamanlı oluşturma isteklerini sıraya sokmak için satır kilitlenir
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Internship i WHERE i.id = :id")
+    Optional<Internship> findByIdForUpdate(@Param("id") Long id);
+
     // İlişkili entity'leri tek seferde çekmek için optimize edilmiş sorgular
     
     @Query("SELECT i FROM Internship i LEFT JOIN FETCH i.documents WHERE i.id = :id")
@@ -48,7 +67,10 @@ public interface InternshipRepository extends JpaRepository<Internship, Long> {
     @Query("SELECT DISTINCT i FROM Internship i LEFT JOIN FETCH i.approvals")
     List<Internship> findAllWithApprovals();
     
-    // Koleksiyonlar artık Set olduğu için birden fazla koleksiyonu birlikte fetch edebiliriz
+    // Koleksiyonlar artık Set olduğu için birden fazla koleksiyonu birlikte fetch edebiliriz.
+    // Listeleme sorguları entity'leri salt okunur yükler: snapshot tutulmaz, flush'ta dirty-check yapılmaz.
+    // Open-in-view ile entity'ler istek boyunca salt okunur kalır, sonucu değiştirilen yerlerde kullanılmamalı.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT DISTINCT i FROM Internship i LEFT JOIN FETCH i.student LEFT JOIN FETCH i.advisor " +
            "LEFT JOIN FETCH i.documents LEFT JOIN FETCH i.approvals")
     List<Internship> findAllWithDetails();
@@ -60,12 +82,102 @@ public interface InternshipRepository extends JpaRepository<Internship, Long> {
     Optional<Internship> findByIdWithDocumentsAndApprovals(@Param("id") Long id);
     
     // Öğrenci için tüm ilişkili verileri çeken metot
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT DISTINCT i FROM Internship i LEFT JOIN FETCH i.documents LEFT JOIN FETCH i.approvals " +
            "WHERE i.student = :student")
     List<Internship> findByStudentWithAllDetails(@Param("student") User student);
     
     // Danışman için tüm ilişkili verileri çeken metot
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT DISTINCT i FROM Internship i LEFT JOIN FETCH i.documents LEFT JOIN FETCH i.approvals " +
            "WHERE i.advisor = :advisor")
     List<Internship> findByAdvisorWithAllDetails(@Param("advisor") User advisor);
-} 
\ No newline at end of file
+    
+    /**
+     * Durum sadece beklenen durumdaysa değiştirilir. Etkilenen satır sayısı 0 ise başka bir
+     * işlem durumu önce değiştirmiştir. Versiyon artırılarak eski kopyayla yapılan kayıtlar da reddedilir.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Internship i SET i.status = :target, i.version = i.version + 1, " +
+           "i.statusChangedAt = :changedAt, i.slaEscalatedAt = NULL " +
+           "WHERE i.id = :id AND i.status = :expected")
+    int transitionStatus(@Param("id") Long id, @Param("expected") InternshipStatus expected,
+                         @Param("target") InternshipStatus target, @Param("changedAt") LocalDateTime changedAt);
+    
+    // Toplu onayda satırlar kontrol edilmeden önce id sırasıyla kilitlenir; aynı stajlar üzerindeki
+    // eşzamanlı işlemler birbirini bekler ve sonraki işlem güncel durumu görür
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id FROM Internship i WHERE i.id IN :ids ORDER BY i.id")
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.internship.dto.ApprovalCandidate(i.id, i.status, i.version, i.student.id, a.id, i.statusChangedAt) " +
+           "FROM Internship i LEFT JOIN i.advisor a WHERE i.id IN :ids")
+    List<ApprovalCandidate> findApprovalCandidates(@Param("ids") Collection<Long> ids);
+    
+    // Toplu onayda aynı durumdaki stajlar tek sorguyla geçirilir
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Internship i SET i.status = :target, i.version = i.version + 1, " +
+           "i.statusChangedAt = :changedAt, i.slaEscalatedAt = NULL " +
+           "WHERE i.id IN :ids AND i.status = :expected")
+    int transitionStatuses(@Param("ids") Collection<Long> ids, @Param("expected") InternshipStatus expected,
+                           @Param("target") InternshipStatus target, @Param("changedAt") LocalDateTime changedAt);
+
+    // (status, status_changed_at) indeksi üzerinden süresi aşılmış ve henüz bildirilmemiş stajlar
+    @Query("SELECT new com.internship.dto.ApprovalCandidate(i.id, i.status, i.version, i.student.id, a.id, i.statusChangedAt) " +
+           "FROM Internship i LEFT JOIN i.advisor a " +
+           "WHERE i.status = :status AND i.statusChangedAt < :changedBefore AND i.slaEscalatedAt IS NULL AND i.id > :afterId " +
+           "ORDER BY i.id")
+    List<ApprovalCandidate> findOverdue(@Param("status") InternshipStatus status,
+                                        @Param("changedBefore") LocalDateTime changedBefore,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    long countByStatusAndStatusChangedAtBefore(InternshipStatus status, LocalDateTime changedBefore);
+
+    // Okumadan sonra durumu değişmiş ya da başka bir çalıştırmada işaretlenmiş stajlar atlanır
+    @Transactional
+    @Modifying
+    @Query("UPDATE Internship i SET i.slaEscalatedAt = :escalatedAt " +
+           "WHERE i.id IN :ids AND i.status = :status AND i.slaEscalatedAt IS NULL")
+    int markEscalated(@Param("ids") Collection<Long> ids, @Param("status") InternshipStatus status,
+                      @Param("escalatedAt") LocalDateTime escalatedAt);
+
+    // markEscalated ile verilen zaman damgasıyla işaretlenmiş stajlar
+    @Query("SELECT i.id FROM Internship i WHERE i.id IN :ids AND i.slaEscalatedAt = :escalatedAt")
+    List<Long> findIdsEscalatedAt(@Param("ids") Collection<Long> ids, @Param("escalatedAt") LocalDateTime escalatedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Internship i SET i.statusChangedAt = i.createdAt WHERE i.statusChangedAt IS NULL")
+    int backfillStatusChangedAt();
+
+    // Kohort analitiği için toplamlar
+    @Query("SELECT i.status, i.type, COUNT(i), COALESCE(SUM(i.workDays), 0) FROM Internship i GROUP BY i.status, i.type")
+    List<Object[]> sumWorkDaysByStatusAndType();
+
+    @Query("SELECT YEAR(i.startDate), MONTH(i.startDate), COUNT(i), COALESCE(SUM(i.workDays), 0) FROM Internship i " +
+           "GROUP BY YEAR(i.startDate), MONTH(i.startDate) ORDER BY YEAR(i.startDate), MONTH(i.startDate)")
+    List<Object[]> sumWorkDaysByStartMonth();
+
+    @Query("SELECT i.status, COUNT(i) FROM Internship i WHERE i.startDate <= :day AND i.endDate >= :day GROUP BY i.status")
+    List<Object[]> countActiveByStatus(@Param("day") LocalDate day);
+
+    // İstatistik tablosunun tam yeniden hesaplanması için
+    @Query("SELECT i.status, i.type, i.isPaid, COUNT(i) FROM Internship i GROUP BY i.status, i.type, i.isPaid")
+    List<Object[]> countByStatusTypeAndPaid();
+
+    @Query("SELECT new com.internship.dto.InternshipStatisticKey(i.id, i.status, i.type, i.isPaid) FROM Internship i WHERE i.id IN :ids")
+    List<InternshipStatisticKey> findStatisticKeys(@Param("ids") Collection<Long> ids);
+
+    // Yönetilen entity üzerindeki kaydedilmemiş değişiklikler flush edilmez, veritabanındaki değer okunur
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new com.internship.dto.InternshipStatisticKey(i.id, i.status, i.type, i.isPaid) FROM Internship i WHERE i.id = :id")
+    Optional<InternshipStatisticKey> findStoredStatisticKey(@Param("id") Long id);
+
+    // Onaylanmış ve henüz SGK bildirimi olmayan stajlar, tek anti-join sorgusuyla
+    @Query("SELECT new com.internship.dto.SGKBatchCandidate(i.id, i.startDate, i.endDate, i.student.id, a.id) " +
+           "FROM Internship i LEFT JOIN i.advisor a LEFT JOIN i.sgkDeclaration d " +
+           "WHERE i.status = :status AND i.startDate BETWEEN :from AND :to AND d.id IS NULL ORDER BY i.id")
+    List<SGKBatchCandidate> findWithoutDeclaration(@Param("status") InternshipStatus status,
+                                                  @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
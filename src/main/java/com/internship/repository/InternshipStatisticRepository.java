@@ -0,0 +1,31 @@
+package com.internship.repository;
+
+import com.internship.entity.InternshipStatistic;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InternshipStatisticRepository extends JpaRepository<InternshipStatistic, Long> {
+
+    // Sayaç veritabanında artırılır, eşzamanlı işlemler birbirinin değişikliğini ezmez
+    @Modifying
+    @Query("UPDATE InternshipStatistic s SET s.count = s.count + :delta, s.updatedAt = :updatedAt " +
+           "WHERE s.status = :status AND s.type = :type AND s.paid = :paid")
+    int increment(@Param("status") InternshipStatus status, @Param("type") InternshipType type,
+                  @Param("paid") boolean paid, @Param("delta") long delta, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Yeniden hesaplama sırasında artırımlar beklesin diye tüm satırlar kilitlenir
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InternshipStatistic s ORDER BY s.status, s.type, s.paid")
+    List<InternshipStatistic> findAllForUpdate();
+}
@@ -2,13 +2,18 @@ package com.internship.repository;
 
 import com.internship.entity.Notification;
 import com.internship.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    // Bildirim listesi salt okunur yüklenir. Okunmamışlar sorgusunun sonucunu markAllAsRead değiştirdiği için ona hint verilmez
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
     List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
     Long countByUserAndIsReadFalse(User user);
@@ -2,7 +2,10 @@ package com.internship.repository;
 
 import com.internship.entity.PasswordResetToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +13,12 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(String token);
-    Optional<PasswordResetToken> findByUserEmail(String email);
-    void deleteByUserEmail(String email);
+    // Türetilmiş sorgu token tablosundan başlayıp kullanıcıyı LEFT JOIN ile aradığı için e-posta benzersiz indeksinden gidilir
+    @Query("SELECT t FROM PasswordResetToken t JOIN t.user u WHERE u.email = :email")
+    Optional<PasswordResetToken> findByUserEmail(@Param("email") String email);
+    // Türetilmiş silme ile aynı şekilde kaydı yükleyip siler
+    @Transactional
+    default void deleteByUserEmail(String email) {
+        findByUserEmail(email).ifPresent(this::delete);
+    }
 } 
\ No newline at end of file
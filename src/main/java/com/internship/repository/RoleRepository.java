@@ -1,12 +1,17 @@
 package com.internship.repository;
 
 import com.internship.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Kayıt ve rol güncellemelerinde her seferinde çağrılır, sonuç sorgu önbelleğinden gelir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
-} 
\ No newline at end of file
+} 
@@ -1,19 +1,54 @@
 package com.internship.repository;
 
+import com.internship.dto.SGKExportRow;
 import com.internship.entity.SGKDeclaration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SGKDeclarationRepository extends JpaRepository<SGKDeclaration, Long> {
     
-    Optional<SGKDeclaration> findByInternshipId(Long internshipId);
+    // Türetilmiş sorgular staj tablosuna LEFT JOIN ile gidip filtreyi i.id üzerinde uyguladığı için
+    // koşul doğrudan internship_id kolonuna (uk_sgk_declarations_internship) yazılır
+    @Query("SELECT d FROM SGKDeclaration d WHERE d.internship.id = :internshipId")
+    Optional<SGKDeclaration> findByInternshipId(@Param("internshipId") Long internshipId);
     
     Optional<SGKDeclaration> findByDeclarationNumber(String declarationNumber);
     
-    boolean existsByInternshipId(Long internshipId);
+    @Query("SELECT COUNT(d) > 0 FROM SGKDeclaration d WHERE d.internship.id = :internshipId")
+    boolean existsByInternshipId(@Param("internshipId") Long internshipId);
     
-    void deleteByInternshipId(Long internshipId);
-} 
\ No newline at end of file
+    // Türetilmiş silme ile aynı şekilde kaydı yükleyip siler
+    @Transactional
+    default void deleteByInternshipId(Long internshipId) {
+        findByInternshipId(internshipId).ifPresent(this::delete);
+    }
+
+    @Query("SELECT d.internship.id FROM SGKDeclaration d WHERE d.declarationNumber IN :numbers")
+    List<Long> findInternshipIdsByDeclarationNumberIn(@Param("numbers") Collection<String> numbers);
+
+    // Belge üretimi için staj ve öğrenci bilgisiyle birlikte
+    @Query("SELECT d FROM SGKDeclaration d JOIN FETCH d.internship i JOIN FETCH i.student WHERE i.id IN :internshipIds")
+    List<SGKDeclaration> findWithDetailsByInternshipIdIn(@Param("internshipIds") Collection<Long> internshipIds);
+
+    // Toplu SGK dosyası için ileri yönlü imleç; satırlar persistence context'e alınmaz
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.internship.dto.SGKExportRow(d.id, d.declarationNumber, d.startDate, d.endDate, i.id, " +
+           "s.firstName, s.lastName, s.email, s.phoneNumber, i.companyName, i.companyAddress, i.companyPhone, " +
+           "i.type, i.workDays, i.isPaid) " +
+           "FROM SGKDeclaration d JOIN d.internship i JOIN i.student s " +
+           "WHERE d.isActive = true AND d.startDate <= :to AND d.endDate >= :from ORDER BY d.id")
+    Stream<SGKExportRow> streamActiveForExport(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
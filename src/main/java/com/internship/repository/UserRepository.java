@@ -2,8 +2,11 @@ package com.internship.repository;
 
 import com.internship.entity.Role;
 import com.internship.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,9 +15,14 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Her kimlik doğrulamalı istekte çağrılır; yetkiler role_mask kolonundan okunduğu için tek tabloya gider,
+    // users tablosuna yazılınca önbellek geçersizleşir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-    List<User> findByRoles(Role role);
+    // Türetilmiş sorgu users tablosundan başlayıp rolü LEFT JOIN ile aradığı için user_roles.role_id üzerinden gidilir
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
+    List<User> findByRoles(@Param("role") Role role);
     List<User> findByFacultyAdvisor(User advisor);
     
     // İlişkili entity'leri tek seferde çekmek için optimize edilmiş sorgular
@@ -22,15 +30,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
     Optional<User> findByIdWithRoles(@Param("id") Long id);
     
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
-    Optional<User> findByEmailWithRoles(@Param("email") String email);
-    
-    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles r WHERE r = :role")
+    @Query("SELECT DISTINCT u FROM User u JOIN FETCH u.roles r WHERE r = :role")
     List<User> findByRolesWithDetails(@Param("role") Role role);
     
     @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.studentInternships WHERE u.facultyAdvisor = :advisor")
     List<User> findByFacultyAdvisorWithInternships(@Param("advisor") User advisor);
     
-    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.studentInternships WHERE u.id = :id")
-    Optional<User> findByIdWithRolesAndInternships(@Param("id") Long id);
-} 
\ No newline at end of file
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r.name = :roleName")
+    List<Long> findIdsByRoleName(@Param("roleName") String roleName);
+}
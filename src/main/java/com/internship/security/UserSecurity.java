@@ -1,7 +1,6 @@
 package com.internship.security;
 
 import com.internship.entity.Internship;
-import com.internship.entity.Role;
 import com.internship.entity.User;
 import com.internship.repository.InternshipRepository;
 import com.internship.repository.UserRepository;
@@ -22,7 +21,7 @@ public class UserSecurity {
 
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByEmailWithRoles(authentication.getName())
+        return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
@@ -32,26 +31,25 @@ public class UserSecurity {
     }
 
     public boolean hasRole(String roleName) {
-        String normalizedRoleName = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-        User currentUser = getCurrentUser();
-        return currentUser.getRoles().stream()
-                .map(Role::getName)
-                .anyMatch(role -> role.equals(normalizedRoleName));
+        return getCurrentUser().hasRole(roleName);
     }
 
     public boolean hasAnyRole(String... roleNames) {
         User currentUser = getCurrentUser();
-        return currentUser.getRoles().stream()
-                .map(Role::getName)
-                .anyMatch(role -> {
-                    for (String roleName : roleNames) {
-                        String normalizedRoleName = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-                        if (role.equals(normalizedRoleName)) {
-                            return true;
-                        }
-                    }
-                    return false;
-                });
+        for (String roleName : roleNames) {
+            if (currentUser.hasRole(roleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // canAccessInternship ile aynı öncelik: öğrenci ve danışman rolü varsa koordinatör rolü tüm stajlara erişim vermez
+    public boolean hasCoordinatorAccess() {
+        if (hasRole("STUDENT") || hasRole("FACULTY_ADVISOR")) {
+            return false;
+        }
+        return hasRole("DEPARTMENT_COORDINATOR") || hasRole("UNIVERSITY_COORDINATOR");
     }
 
     public boolean canAccessInternship(Long internshipId) {
@@ -82,7 +80,7 @@ public class UserSecurity {
             }
 
             // Koordinatörler tüm stajlara erişebilir
-            boolean hasAccess = hasRole("DEPARTMENT_COORDINATOR") || hasRole("UNIVERSITY_COORDINATOR");
+            boolean hasAccess = hasCoordinatorAccess();
             logger.debug("Coordinator access check: {}", hasAccess);
             return hasAccess;
         } catch (Exception e) {
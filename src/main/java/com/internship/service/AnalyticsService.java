@@ -0,0 +1,7 @@
+package com.internship.service;
+
+import com.internship.dto.CohortAnalytics;
+
+public interface AnalyticsService {
+    CohortAnalytics getCohortAnalytics(boolean forceRefresh);
+}
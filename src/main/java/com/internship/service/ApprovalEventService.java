@@ -0,0 +1,31 @@
+package com.internship.service;
+
+import com.internship.entity.ApprovalEvent;
+import com.internship.entity.ApprovalEventType;
+import com.internship.entity.InternshipApprovalState;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ApprovalEventService {
+    ApprovalEvent record(Long internshipId, ApprovalEventType type, InternshipStatus fromStatus, InternshipStatus toStatus,
+                         User actor, Long relatedUserId, String comment);
+
+    List<ApprovalEvent> recordAll(List<ApprovalEvent> events);
+
+    Optional<InternshipApprovalState> getState(Long internshipId);
+
+    List<Map<String, Object>> getTimeline(InternshipApprovalState state);
+
+    // Satırdaki son olaylardan daha eskileri için, verilen olay id'sinden önceki en fazla limit kadar olay
+    List<Map<String, Object>> getTimelineBefore(Long internshipId, Long beforeEventId, int limit);
+
+    List<InternshipApprovalState> getStates(InternshipStatus status, int limit);
+
+    void deleteState(Long internshipId);
+
+    int backfillMissingStates(int batchSize);
+}
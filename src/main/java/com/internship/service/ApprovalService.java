@@ -1,5 +1,6 @@
 package com.internship.service;
 
+import com.internship.dto.BulkApprovalResult;
 import com.internship.entity.ApplicationApproval;
 import com.internship.entity.InternshipStatus;
 import com.internship.entity.User;
@@ -24,4 +25,7 @@ public interface ApprovalService {
     boolean hasApprovalFromRole(Long internshipId, String approverRole);
 
     ApplicationApproval updateApproval(Long approvalId, InternshipStatus status, String comment);
+
+    List<BulkApprovalResult> bulkTransition(List<Long> internshipIds, Long approverId, boolean coordinatorAccess,
+                                            InternshipStatus status, String comment);
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.internship.service;
+
+import com.internship.entity.Holiday;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public interface BusinessCalendarService {
+    Set<DayOfWeek> DEFAULT_WORK_WEEK = Collections.unmodifiableSet(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+
+    int countBusinessDays(LocalDate startDate, LocalDate endDate, Set<DayOfWeek> workWeek);
+
+    boolean isBusinessDay(LocalDate date, Set<DayOfWeek> workWeek);
+
+    Set<DayOfWeek> getWorkWeek(Long internshipId);
+
+    void validateDateRange(LocalDate startDate, LocalDate endDate);
+
+    void validateWorkDays(LocalDate startDate, LocalDate endDate, Integer workDays, Set<DayOfWeek> workWeek);
+
+    List<Holiday> getHolidays();
+
+    Holiday addHoliday(Holiday holiday);
+
+    void deleteHoliday(Long id);
+}
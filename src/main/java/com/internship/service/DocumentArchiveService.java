@@ -0,0 +1,18 @@
+package com.internship.service;
+
+import com.internship.dto.ArchiveEntry;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DocumentArchiveService {
+    List<ArchiveEntry> getInternshipEntries(Long internshipId);
+
+    List<ArchiveEntry> getCohortEntries(LocalDate from, LocalDate to, InternshipStatus status, InternshipType type);
+
+    void writeZip(List<ArchiveEntry> entries, OutputStream out) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.internship.service;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+public interface DocumentPreviewService {
+    void schedulePreview(String filePath);
+
+    // Sadece PDF dosyalarının önizlemesi üretilir
+    boolean supportsPreview(String filePath);
+
+    Optional<Path> getPreview(String filePath);
+
+    Optional<Map<String, Object>> getMetadata(String filePath);
+
+    void deletePreview(String filePath);
+
+    Optional<String> extractText(String filePath);
+}
@@ -0,0 +1,20 @@
+package com.internship.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface FileStorageService {
+    String ARCHIVE_SUFFIX = ".gz";
+
+    boolean isArchived(String filePath);
+
+    String originalName(String filePath);
+
+    InputStream openStream(String filePath) throws IOException;
+
+    Resource loadAsResource(String filePath);
+
+    boolean exists(String filePath);
+}
@@ -10,6 +10,7 @@ import java.util.List;
 public interface InternshipService {
     Internship createInternship(InternshipRequest request);
     Internship getInternshipById(Long id);
+    Internship getInternshipForUpdate(Long id);
     List<Internship> getAllInternships();
     List<Internship> getInternshipsByStudent(User student);
     List<Internship> getInternshipsByAdvisor(User advisor);
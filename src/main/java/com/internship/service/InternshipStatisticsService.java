@@ -0,0 +1,26 @@
+package com.internship.service;
+
+import com.internship.dto.InternshipStatisticKey;
+import com.internship.entity.Internship;
+import com.internship.entity.InternshipStatus;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface InternshipStatisticsService {
+    void recordCreated(Internship internship);
+
+    void recordDeleted(Internship internship);
+
+    void recordStatusChange(Internship internship, InternshipStatus from, InternshipStatus to);
+
+    void recordStatusChanges(Map<Long, InternshipStatus> previousStatuses, InternshipStatus to);
+
+    Optional<InternshipStatisticKey> getStoredKey(Long internshipId);
+
+    void recordUpdated(InternshipStatisticKey before, Internship after);
+
+    Map<String, Object> getStatistics();
+
+    Map<String, Object> reconcile();
+}
@@ -24,6 +24,8 @@ public interface NotificationService {
     void notifyStudentStatusChange(Long internshipId, Long studentId, InternshipStatus newStatus);
     void sendNotification(Long userId, String message, NotificationType type);
     void sendBulkNotification(List<Long> userIds, String message, NotificationType type);
+
+    void createBulkNotifications(List<Long> userIds, String title, String message, NotificationType type);
     void notifyAdvisorNewApplication(Long internshipId, Long advisorId);
     void notifyStudentSGKDeclaration(Long internshipId, Long studentId, String message);
 } 
\ No newline at end of file
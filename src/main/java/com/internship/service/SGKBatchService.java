@@ -0,0 +1,15 @@
+package com.internship.service;
+
+import com.internship.dto.SGKBatchStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SGKBatchService {
+    SGKBatchStatus startBatch(LocalDate periodStart, LocalDate periodEnd, Long requestedBy);
+
+    Optional<SGKBatchStatus> getStatus(String jobId);
+
+    List<SGKBatchStatus> getRecentJobs();
+}
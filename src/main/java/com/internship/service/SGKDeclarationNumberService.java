@@ -0,0 +1,12 @@
+package com.internship.service;
+
+import java.util.List;
+
+public interface SGKDeclarationNumberService {
+    String nextNumber();
+
+    List<String> nextNumbers(int count);
+
+    // Üretilen biçimdeki numaranın kontrol hanesi tutmuyorsa true; eski serbest numaralar için false
+    boolean hasInvalidCheckDigit(String declarationNumber);
+}
@@ -0,0 +1,9 @@
+package com.internship.service;
+
+import com.internship.entity.SGKDeclaration;
+
+public interface SGKDocumentService {
+    String generate(SGKDeclaration declaration);
+
+    void deleteDocuments(Long internshipId);
+}
@@ -0,0 +1,16 @@
+package com.internship.service;
+
+import com.internship.dto.SGKExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+
+public interface SGKExportService {
+
+    // Sabit uzunluklu dosya Türkçe karakterleri tek baytta tutan kodlamayla yazılır
+    Charset FIXED_WIDTH_CHARSET = Charset.forName("ISO-8859-9");
+
+    int export(LocalDate from, LocalDate to, SGKExportFormat format, OutputStream out) throws IOException;
+}
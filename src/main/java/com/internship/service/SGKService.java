@@ -1,11 +1,12 @@
 package com.internship.service;
 
+import com.internship.dto.SGKDeclarationCreation;
 import com.internship.entity.SGKDeclaration;
 
 import java.util.Optional;
 
 public interface SGKService {
-    SGKDeclaration createDeclaration(Long internshipId, String declarationNumber);
+    SGKDeclarationCreation createDeclaration(Long internshipId);
 
     Optional<SGKDeclaration> getDeclarationByInternshipId(Long internshipId);
 
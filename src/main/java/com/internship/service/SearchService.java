@@ -0,0 +1,21 @@
+package com.internship.service;
+
+import com.internship.dto.SearchResponse;
+
+public interface SearchService {
+    SearchResponse search(String query, int page, int size);
+
+    void indexInternship(Long internshipId);
+
+    void indexDocument(Long documentId);
+
+    void indexReport(Long reportId);
+
+    void removeDocument(Long documentId);
+
+    void removeReport(Long reportId);
+
+    void removeInternship(Long internshipId);
+
+    void rebuildIndex();
+}
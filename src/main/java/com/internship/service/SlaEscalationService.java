@@ -0,0 +1,7 @@
+package com.internship.service;
+
+import java.util.Map;
+
+public interface SlaEscalationService {
+    Map<String, Object> escalateOverdue();
+}
@@ -0,0 +1,11 @@
+package com.internship.service;
+
+import com.internship.dto.ReconciliationReport;
+
+import java.util.Optional;
+
+public interface StorageReconciliationService {
+    ReconciliationReport reconcileNextBatch();
+
+    Optional<ReconciliationReport> getLastReport();
+}
@@ -0,0 +1,7 @@
+package com.internship.service;
+
+import java.util.Map;
+
+public interface StorageTieringService {
+    Map<String, Object> archiveColdFiles();
+}
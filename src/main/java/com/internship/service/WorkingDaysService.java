@@ -1,6 +1,8 @@
 package com.internship.service;
 
 import com.internship.entity.ApplicationWorkingDays;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -12,6 +14,8 @@ public interface WorkingDaysService {
 
     List<ApplicationWorkingDays> getWorkingDaysBetweenDates(Long internshipId, LocalDate startDate, LocalDate endDate);
 
+    Page<ApplicationWorkingDays> getWorkingDaysBetweenDates(Long internshipId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
     int calculateTotalWorkingDays(Long internshipId);
 
     List<ApplicationWorkingDays> updateWorkingDays(Long internshipId, List<ApplicationWorkingDays> workingDays);
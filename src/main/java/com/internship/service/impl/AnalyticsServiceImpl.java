@@ -0,0 +1,186 @@
+package com.internship.service.impl;
+
+import com.internship.dto.CohortAnalytics;
+import com.internship.event.InternshipChangedEvent;
+import com.internship.event.WorkingDaysChangedEvent;
+import com.internship.repository.ApplicationWorkingDaysRepository;
+import com.internship.repository.InternshipRepository;
+import com.internship.service.AnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Kohort özetini dört GROUP BY sorgusuyla üretir ve bellekte tutar. Özet TTL dolunca istek
+ * sırasında yeniden hesaplanır; staj veya çalışma günü değişikliklerinden sonra ise commit
+ * sonrasında kendi tek thread'lik havuzunda yenilenir. Art arda gelen değişiklikler tek bir
+ * yenilemede birleşir ve arka plan yenilemeleri arasında en az app.analytics.min-refresh-interval beklenir,
+ * yoğun yazma sırasında tam tablo sorguları her yazmada tekrarlanmaz.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final InternshipRepository internshipRepository;
+    private final ApplicationWorkingDaysRepository workingDaysRepository;
+    private final TaskExecutor analyticsRefreshExecutor;
+
+    private final AtomicReference<CohortAnalytics> snapshot = new AtomicReference<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Son arka plan yenilemesinin bittiği an (System.nanoTime)
+    private volatile long lastBackgroundRefresh;
+
+    @Value("${app.analytics.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${app.analytics.min-refresh-interval:PT30S}")
+    private Duration minRefreshInterval;
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+    public AnalyticsServiceImpl(InternshipRepository internshipRepository,
+                                ApplicationWorkingDaysRepository workingDaysRepository,
+                                @Qualifier("analyticsRefreshExecutor") TaskExecutor analyticsRefreshExecutor) {
+        this.internshipRepository = internshipRepository;
+        this.workingDaysRepository = workingDaysRepository;
+        this.analyticsRefreshExecutor = analyticsRefreshExecutor;
+    }
+
+    @Override
+    public CohortAnalytics getCohortAnalytics(boolean forceRefresh) {
+        CohortAnalytics current = snapshot.get();
+        if (forceRefresh || current == null || current.getGeneratedAt().plus(ttl).isBefore(LocalDateTime.now())) {
+            return refresh();
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent event) {
+        markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkingDaysChanged(WorkingDaysChangedEvent event) {
+        markDirty();
+    }
+
+    // İşaret yazan thread'de konur; kuyruk doluyken bırakılan iş, bekleyen işin işareti görmesiyle telafi edilir.
+    // Henüz hiç istenmemiş özet için arka planda hesaplama yapılmaz
+    private void markDirty() {
+        if (snapshot.get() == null) {
+            return;
+        }
+        dirty.set(true);
+        analyticsRefreshExecutor.execute(this::refreshInBackground);
+    }
+
+    private void refreshInBackground() {
+        while (dirty.get() && refreshing.compareAndSet(false, true)) {
+            try {
+                while (dirty.get()) {
+                    waitForMinInterval();
+                    dirty.set(false);
+                    refresh();
+                    lastBackgroundRefresh = System.nanoTime();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Cohort analytics refresh failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    private void waitForMinInterval() throws InterruptedException {
+        long remaining = lastBackgroundRefresh + minRefreshInterval.toNanos() - System.nanoTime();
+        if (lastBackgroundRefresh != 0 && remaining > 0) {
+            Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+    }
+
+    private synchronized CohortAnalytics refresh() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+
+        long totalInternships = 0;
+        long totalWorkDays = 0;
+        List<Map<String, Object>> byStatusAndType = new ArrayList<>();
+        for (Object[] row : internshipRepository.sumWorkDaysByStatusAndType()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", row[0]);
+            entry.put("type", row[1]);
+            entry.put("count", toLong(row[2]));
+            entry.put("requiredWorkDays", toLong(row[3]));
+            byStatusAndType.add(entry);
+            totalInternships += toLong(row[2]);
+            totalWorkDays += toLong(row[3]);
+        }
+
+        List<Map<String, Object>> byStartMonth = new ArrayList<>();
+        for (Object[] row : internshipRepository.sumWorkDaysByStartMonth()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("month", month(row[0], row[1]));
+            entry.put("count", toLong(row[2]));
+            entry.put("requiredWorkDays", toLong(row[3]));
+            byStartMonth.add(entry);
+        }
+
+        long activeInternships = 0;
+        Map<String, Long> activeByStatus = new LinkedHashMap<>();
+        for (Object[] row : internshipRepository.countActiveByStatus(today)) {
+            activeByStatus.put(String.valueOf(row[0]), toLong(row[1]));
+            activeInternships += toLong(row[1]);
+        }
+
+        List<Map<String, Object>> scheduledDaysByMonth = new ArrayList<>();
+        for (Object[] row : workingDaysRepository.countScheduledDaysByMonth()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("month", month(row[0], row[1]));
+            entry.put("scheduledDays", toLong(row[2]));
+            entry.put("internships", toLong(row[3]));
+            scheduledDaysByMonth.add(entry);
+        }
+
+        CohortAnalytics analytics = CohortAnalytics.builder()
+                .generatedAt(LocalDateTime.now())
+                .activeOn(today)
+                .totalInternships(totalInternships)
+                .totalRequiredWorkDays(totalWorkDays)
+                .activeInternships(activeInternships)
+                .activeByStatus(activeByStatus)
+                .byStatusAndType(byStatusAndType)
+                .byStartMonth(byStartMonth)
+                .scheduledDaysByMonth(scheduledDaysByMonth)
+                .build();
+        snapshot.set(analytics);
+        logger.debug("Cohort analytics refreshed in {} ms", System.currentTimeMillis() - start);
+        return analytics;
+    }
+
+    private String month(Object year, Object month) {
+        return year == null ? "unknown" : String.format("%d-%02d", toLong(year), toLong(month));
+    }
+
+    private long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,251 @@
+package com.internship.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.entity.ApplicationApproval;
+import com.internship.entity.ApprovalEvent;
+import com.internship.entity.ApprovalEventType;
+import com.internship.entity.Internship;
+import com.internship.entity.InternshipApprovalState;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.User;
+import com.internship.repository.ApplicationApprovalRepository;
+import com.internship.repository.ApprovalEventRepository;
+import com.internship.repository.InternshipApprovalStateRepository;
+import com.internship.repository.InternshipRepository;
+import com.internship.service.ApprovalEventService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ApprovalEventServiceImpl implements ApprovalEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApprovalEventServiceImpl.class);
+
+    private static final TypeReference<List<Map<String, Object>>> TIMELINE_TYPE = new TypeReference<>() {};
+
+    private final ApprovalEventRepository eventRepository;
+    private final InternshipApprovalStateRepository stateRepository;
+    private final InternshipRepository internshipRepository;
+    private final ApplicationApprovalRepository approvalRepository;
+    private final ObjectMapper objectMapper;
+
+    // Satırda tutulan zaman çizelgesinin üst sınırı; daha eski olaylar approval_events tablosundan sayfalanır
+    @Value("${app.approval.timeline-size:50}")
+    private int timelineSize;
+
+    @Override
+    public ApprovalEvent record(Long internshipId, ApprovalEventType type, InternshipStatus fromStatus,
+                                InternshipStatus toStatus, User actor, Long relatedUserId, String comment) {
+        ApprovalEvent event = ApprovalEvent.builder()
+                .internshipId(internshipId)
+                .type(type)
+                .fromStatus(fromStatus)
+                .toStatus(toStatus)
+                .actorId(actor != null ? actor.getId() : null)
+                .actorRole(actor != null ? actor.getRole() : null)
+                .relatedUserId(relatedUserId)
+                .comment(comment)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        return recordAll(List.of(event)).get(0);
+    }
+
+    /**
+     * Olayları ekler ve ilgili projeksiyon satırlarını aynı işlem içinde günceller. Projeksiyon
+     * okunmadan önce stajların satırları id sırasıyla kilitlenir: durum geçişi dışındaki olaylar
+     * (danışman ataması, revizyon vb.) da aynı staj için sıraya girer, ilk olayda projeksiyon
+     * satırının eklenmesi de bu kilitle korunur. Zaman çizelgesi her durum için bir kez okunup yazılır.
+     */
+    @Override
+    public List<ApprovalEvent> recordAll(List<ApprovalEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        List<ApprovalEvent> saved = eventRepository.saveAll(events);
+
+        List<Long> internshipIds = saved.stream().map(ApprovalEvent::getInternshipId).distinct().toList();
+        internshipRepository.lockByIds(internshipIds);
+        Map<Long, InternshipApprovalState> states = stateRepository.findAllById(internshipIds).stream()
+                .collect(Collectors.toMap(InternshipApprovalState::getInternshipId, Function.identity()));
+
+        Map<Long, List<Map<String, Object>>> timelines = new LinkedHashMap<>();
+        for (ApprovalEvent event : saved) {
+            InternshipApprovalState state = states.computeIfAbsent(event.getInternshipId(),
+                    id -> InternshipApprovalState.builder().internshipId(id).timeline("[]").build());
+            apply(state, event);
+            timelines.computeIfAbsent(state.getInternshipId(), id -> new ArrayList<>(getTimeline(state)))
+                    .add(toTimelineEntry(event));
+        }
+        timelines.forEach((internshipId, timeline) -> writeTimeline(states.get(internshipId), timeline));
+        stateRepository.saveAll(states.values());
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<InternshipApprovalState> getState(Long internshipId) {
+        return stateRepository.findById(internshipId);
+    }
+
+    @Override
+    public List<Map<String, Object>> getTimeline(InternshipApprovalState state) {
+        try {
+            return objectMapper.readValue(state.getTimeline(), TIMELINE_TYPE);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not read approval timeline for internship {}", state.getInternshipId(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTimelineBefore(Long internshipId, Long beforeEventId, int limit) {
+        List<ApprovalEvent> events = new ArrayList<>(eventRepository.findByInternshipIdAndIdLessThanOrderByIdDesc(
+                internshipId, beforeEventId, PageRequest.of(0, limit)));
+        Collections.reverse(events);
+        return events.stream().map(this::toTimelineEntry).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InternshipApprovalState> getStates(InternshipStatus status, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return status != null
+                ? stateRepository.findByCurrentStatusOrderByLastEventAtAsc(status, page)
+                : stateRepository.findAllByOrderByLastEventAtDesc(page);
+    }
+
+    @Override
+    public void deleteState(Long internshipId) {
+        stateRepository.findById(internshipId).ifPresent(stateRepository::delete);
+    }
+
+    /**
+     * Olay günlüğünden önce oluşturulmuş stajlar için eldeki kayıtlardan geçmiş üretir: başvuru
+     * anı ve mevcut onay satırları. Bu satırlar yerinde güncellenmiş olabileceğinden geçmiş eksik
+     * kalabilir, son durum her zaman stajın kendi durumundan alınır.
+     */
+    @Override
+    public int backfillMissingStates(int batchSize) {
+        List<Long> ids = stateRepository.findInternshipIdsWithoutState(PageRequest.of(0, batchSize));
+        for (Long id : ids) {
+            Internship internship = internshipRepository.findById(id).orElse(null);
+            if (internship == null) {
+                continue;
+            }
+            List<ApprovalEvent> events = new ArrayList<>();
+            events.add(ApprovalEvent.builder()
+                    .internshipId(id)
+                    .type(ApprovalEventType.CREATED)
+                    .toStatus(InternshipStatus.PENDING)
+                    .actorId(internship.getStudent().getId())
+                    .occurredAt(internship.getCreatedAt())
+                    .build());
+
+            List<ApplicationApproval> approvals = new ArrayList<>(approvalRepository.findByInternshipIdOrderByActionDateDesc(id));
+            Collections.reverse(approvals);
+            for (ApplicationApproval approval : approvals) {
+                events.add(ApprovalEvent.builder()
+                        .internshipId(id)
+                        .type(ApprovalEventType.forTransition(approval.getStatus()))
+                        .toStatus(approval.getStatus())
+                        .actorId(approval.getApprover().getId())
+                        .actorRole(approval.getApproverRole())
+                        .comment(approval.getComment())
+                        .occurredAt(approval.getActionDate())
+                        .build());
+            }
+
+            ApprovalEvent last = events.get(events.size() - 1);
+            if (last.getToStatus() != internship.getStatus()) {
+                events.add(ApprovalEvent.builder()
+                        .internshipId(id)
+                        .type(ApprovalEventType.STATUS_CHANGED)
+                        .toStatus(internship.getStatus())
+                        .occurredAt(LocalDateTime.now())
+                        .build());
+            }
+
+            recordAll(events);
+            if (internship.getAdvisor() != null) {
+                stateRepository.findById(id).ifPresent(state -> state.setAdvisorId(internship.getAdvisor().getId()));
+            }
+        }
+        return ids.size();
+    }
+
+    private void apply(InternshipApprovalState state, ApprovalEvent event) {
+        if (event.getToStatus() != null) {
+            state.setCurrentStatus(event.getToStatus());
+        }
+        state.setLastEventId(event.getId());
+        state.setLastEventType(event.getType());
+        state.setLastActorId(event.getActorId());
+        state.setLastActorRole(event.getActorRole());
+        state.setLastComment(event.getComment());
+        state.setLastEventAt(event.getOccurredAt());
+        state.setEventCount(state.getEventCount() + 1);
+
+        switch (event.getType()) {
+            case CREATED -> state.setSubmittedAt(event.getOccurredAt());
+            case ADVISOR_ASSIGNED -> {
+                state.setAdvisorId(event.getRelatedUserId());
+                state.setAdvisorAssignedAt(event.getOccurredAt());
+            }
+            case APPROVED -> {
+                if (event.getToStatus() == InternshipStatus.ADVISOR_APPROVED) {
+                    state.setAdvisorApprovedAt(event.getOccurredAt());
+                } else if (event.getToStatus() == InternshipStatus.COORDINATOR_APPROVED) {
+                    state.setCoordinatorApprovedAt(event.getOccurredAt());
+                }
+            }
+            case REJECTED -> state.setRejectedAt(event.getOccurredAt());
+            case REVISION_REQUESTED -> state.setRevisionCount(state.getRevisionCount() + 1);
+            default -> { }
+        }
+    }
+
+    private void writeTimeline(InternshipApprovalState state, List<Map<String, Object>> timeline) {
+        List<Map<String, Object>> recent = timeline.size() > timelineSize
+                ? timeline.subList(timeline.size() - timelineSize, timeline.size())
+                : timeline;
+        try {
+            state.setTimeline(objectMapper.writeValueAsString(recent));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write approval timeline for internship " + state.getInternshipId(), e);
+        }
+    }
+
+    private Map<String, Object> toTimelineEntry(ApprovalEvent event) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("eventId", event.getId());
+        entry.put("type", event.getType());
+        entry.put("fromStatus", event.getFromStatus());
+        entry.put("toStatus", event.getToStatus());
+        entry.put("actorId", event.getActorId());
+        entry.put("actorRole", event.getActorRole());
+        entry.put("relatedUserId", event.getRelatedUserId());
+        entry.put("comment", event.getComment());
+        entry.put("occurredAt", event.getOccurredAt().toString());
+        return entry;
+    }
+}
@@ -1,17 +1,35 @@
 package com.internship.service.impl;
 
+import com.internship.dto.ApprovalCandidate;
+import com.internship.dto.BulkApprovalResult;
 import com.internship.entity.*;
+import com.internship.event.InternshipChangedEvent;
+import com.internship.exception.InvalidStatusTransitionException;
+import com.internship.exception.ResourceNotFoundException;
 import com.internship.repository.ApplicationApprovalRepository;
 import com.internship.repository.InternshipRepository;
 import com.internship.repository.UserRepository;
+import com.internship.service.ApprovalEventService;
 import com.internship.service.ApprovalService;
+import com.internship.service.InternshipStatisticsService;
 import com.internship.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,25 +40,26 @@ public class ApprovalServiceImpl implements ApprovalService {
     private final InternshipRepository internshipRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApprovalEventService approvalEventService;
+    private final MeterRegistry meterRegistry;
+    private final InternshipStatisticsService statisticsService;
 
     @Override
     public ApplicationApproval createApproval(Long internshipId, Long approverId, InternshipStatus status, String comment) {
-        Internship internship = internshipRepository.findById(internshipId)
-                .orElseThrow(() -> new RuntimeException("Internship not found"));
         User approver = userRepository.findById(approverId)
                 .orElseThrow(() -> new RuntimeException("Approver not found"));
+        Internship internship = transitionStatus(internshipId, status, approver, comment);
 
         ApplicationApproval approval = ApplicationApproval.builder()
                 .internship(internship)
                 .approver(approver)
+                .approverRole(approver.getRole())
                 .status(status)
                 .comment(comment)
                 .actionDate(LocalDateTime.now())
                 .build();
 
-        internship.setStatus(status);
-        internshipRepository.save(internship);
-
         notificationService.createNotification(
             internship.getStudent(),
             "Internship Status Updated",
@@ -55,15 +74,19 @@ public class ApprovalServiceImpl implements ApprovalService {
     public ApplicationApproval updateApproval(Long approvalId, InternshipStatus status, String comment) {
         ApplicationApproval approval = approvalRepository.findById(approvalId)
                 .orElseThrow(() -> new RuntimeException("Approval not found"));
+        Long internshipId = approval.getInternship().getId();
+        User approver = userRepository.findById(approval.getApprover().getId())
+                .orElseThrow(() -> new RuntimeException("Approver not found"));
 
+        // Onay satırı yerinde güncellenir, önceki karar olay günlüğünde kalır
+        Internship internship = transitionStatus(internshipId, status, approver, comment);
+        // Durum geçişi persistence context'i temizler, onay kaydı yeniden yüklenir
+        approval = approvalRepository.findById(approvalId)
+                .orElseThrow(() -> new RuntimeException("Approval not found"));
         approval.setStatus(status);
         approval.setComment(comment);
         approval.setActionDate(LocalDateTime.now());
 
-        Internship internship = approval.getInternship();
-        internship.setStatus(status);
-        internshipRepository.save(internship);
-
         notificationService.createNotification(
             internship.getStudent(),
             "Internship Status Updated",
@@ -74,44 +97,193 @@ public class ApprovalServiceImpl implements ApprovalService {
         return approvalRepository.save(approval);
     }
 
+    /**
+     * Satırlar id sırasıyla kilitlendikten sonra yetki ve geçiş kontrolleri tek sorguyla okunan
+     * satırlar üzerinde yapılır, aynı durumdaki stajlar tek UPDATE ile geçirilir. Aynı stajlara
+     * eşzamanlı gelen toplu işlem kilidi bekler ve güncel durumu görerek geçersiz geçişi reddeder.
+     */
+    @Override
+    public List<BulkApprovalResult> bulkTransition(List<Long> internshipIds, Long approverId, boolean coordinatorAccess,
+                                                   InternshipStatus status, String comment) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(internshipIds);
+        internshipRepository.lockByIds(ids);
+        Map<Long, ApprovalCandidate> candidates = internshipRepository.findApprovalCandidates(ids).stream()
+                .collect(Collectors.toMap(ApprovalCandidate::getId, Function.identity()));
+
+        Map<Long, BulkApprovalResult> results = new LinkedHashMap<>();
+        Map<InternshipStatus, List<Long>> byCurrentStatus = new EnumMap<>(InternshipStatus.class);
+        for (Long id : ids) {
+            ApprovalCandidate candidate = candidates.get(id);
+            if (candidate == null) {
+                results.put(id, failure(id, null, "Internship not found"));
+            } else if (!coordinatorAccess && !approverId.equals(candidate.getAdvisorId())) {
+                results.put(id, failure(id, candidate.getStatus(), "You don't have permission to change this internship"));
+            } else if (!candidate.getStatus().canTransitionTo(status)) {
+                results.put(id, failure(id, candidate.getStatus(),
+                        "Internship status cannot change from " + candidate.getStatus() + " to " + status));
+            } else {
+                results.put(id, null);
+                byCurrentStatus.computeIfAbsent(candidate.getStatus(), key -> new ArrayList<>()).add(id);
+            }
+        }
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<ApprovalCandidate> updated = new ArrayList<>();
+        byCurrentStatus.forEach((expected, group) -> {
+            // Satırlar kilitli olduğundan grubun tamamı güncellenmelidir; eksik sayı işlemi geri alır
+            int changed = internshipRepository.transitionStatuses(group, expected, status, changedAt);
+            if (changed != group.size()) {
+                throw new IllegalStateException("Expected " + group.size() + " internships in " + expected
+                        + " to change but " + changed + " did");
+            }
+            group.forEach(id -> {
+                updated.add(candidates.get(id));
+                results.put(id, BulkApprovalResult.builder().internshipId(id).success(true).status(status).build());
+            });
+        });
+
+        if (!updated.isEmpty()) {
+            User approver = userRepository.findById(approverId)
+                    .orElseThrow(() -> new RuntimeException("Approver not found"));
+            approvalRepository.saveAll(updated.stream()
+                    .map(internship -> ApplicationApproval.builder()
+                            .internship(internshipRepository.getReferenceById(internship.getId()))
+                            .approver(approver)
+                            .approverRole(approver.getRole())
+                            .status(status)
+                            .comment(comment)
+                            .actionDate(changedAt)
+                            .build())
+                    .toList());
+            updated.forEach(internship -> {
+                ApprovalCandidate before = candidates.get(internship.getId());
+                recordStageWait(before.getStatus(), before.getStatusChangedAt(), changedAt);
+            });
+            statisticsService.recordStatusChanges(updated.stream()
+                    .collect(Collectors.toMap(ApprovalCandidate::getId, internship -> candidates.get(internship.getId()).getStatus())), status);
+            approvalEventService.recordAll(updated.stream()
+                    .map(internship -> ApprovalEvent.builder()
+                            .internshipId(internship.getId())
+                            .type(ApprovalEventType.forTransition(status))
+                            .fromStatus(candidates.get(internship.getId()).getStatus())
+                            .toStatus(status)
+                            .actorId(approverId)
+                            .actorRole(approver.getRole())
+                            .comment(comment)
+                            .occurredAt(changedAt)
+                            .build())
+                    .toList());
+            notificationService.createBulkNotifications(
+                    updated.stream().map(ApprovalCandidate::getStudentId).toList(),
+                    "Internship Status Updated",
+                    "Your internship status has been updated to: " + status + (comment != null ? ". Comment: " + comment : ""),
+                    NotificationType.STATUS_UPDATE);
+            updated.forEach(candidate -> eventPublisher.publishEvent(new InternshipChangedEvent(candidate.getId(), false)));
+        }
+
+        return new ArrayList<>(results.values());
+    }
+
+    private BulkApprovalResult failure(Long internshipId, InternshipStatus currentStatus, String message) {
+        return BulkApprovalResult.builder()
+                .internshipId(internshipId)
+                .success(false)
+                .status(currentStatus)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Geçiş tablosuna göre kontrol edip durumu koşullu UPDATE ile değiştirir. Okuma ile güncelleme
+     * arasında başka bir işlem durumu değiştirdiyse hiçbir satır etkilenmez ve istek reddedilir.
+     * Başarılı her geçiş onay olay günlüğüne yazılır.
+     */
+    private Internship transitionStatus(Long internshipId, InternshipStatus target, User actor, String comment) {
+        // Koşullu UPDATE kalıcılık bağlamını temizler; getRole() sonradan okunabilsin diye roller önceden yüklenir
+        Hibernate.initialize(actor.getRoles());
+        Internship internship = internshipRepository.findById(internshipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Internship not found with id: " + internshipId));
+        InternshipStatus current = internship.getStatus();
+
+        if (!current.canTransitionTo(target)) {
+            throw new InvalidStatusTransitionException(
+                    "Internship status cannot change from " + current + " to " + target, current, target);
+        }
+        LocalDateTime changedAt = LocalDateTime.now();
+        if (internshipRepository.transitionStatus(internshipId, current, target, changedAt) == 0) {
+            throw new InvalidStatusTransitionException(
+                    "Internship " + internshipId + " was updated concurrently and is no longer " + current, current, target);
+        }
+
+        recordStageWait(current, internship.getStatusChangedAt(), changedAt);
+        statisticsService.recordStatusChange(internship, current, target);
+        approvalEventService.record(internshipId, ApprovalEventType.forTransition(target), current, target, actor, null, comment);
+        eventPublisher.publishEvent(new InternshipChangedEvent(internshipId, false));
+        return internshipRepository.findById(internshipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Internship not found with id: " + internshipId));
+    }
+
+    // Stajın bir durumda ne kadar beklediği, durum bazında histogram olarak yayınlanır
+    private void recordStageWait(InternshipStatus stage, LocalDateTime enteredAt, LocalDateTime leftAt) {
+        if (enteredAt == null || leftAt.isBefore(enteredAt)) {
+            return;
+        }
+        Timer.builder("internship.approval.stage.wait")
+                .description("Time internships spend in an approval stage before moving on")
+                .tag("stage", stage.name())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMinutes(1))
+                .maximumExpectedValue(Duration.ofDays(90))
+                .register(meterRegistry)
+                .record(Duration.between(enteredAt, leftAt));
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationApproval> getApprovalsByInternship(Long internshipId) {
         return approvalRepository.findByInternshipIdOrderByActionDateDesc(internshipId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationApproval> getApprovalsByApprover(User approver) {
         return approvalRepository.findByApproverOrderByActionDateDesc(approver);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationApproval> getApprovalsByInternshipId(Long internshipId) {
         return approvalRepository.findByInternshipIdOrderByActionDateDesc(internshipId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationApproval> getApprovalsByApproverId(Long approverId) {
         return approvalRepository.findByApproverIdOrderByActionDateDesc(approverId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ApplicationApproval getLatestApproval(Long internshipId) {
         return approvalRepository.findFirstByInternshipIdOrderByActionDateDesc(internshipId)
                 .orElseThrow(() -> new RuntimeException("No approval found for internship: " + internshipId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationApproval> getApprovalsByRoleAndStatus(Long internshipId, String approverRole, InternshipStatus status) {
-        return approvalRepository.findByInternshipIdAndStatusOrderByActionDateDesc(internshipId, status)
-            .stream()
-            .filter(approval -> approval.getApprover().getRole().equals(approverRole))
-            .collect(Collectors.toList());
+        return approvalRepository.findByInternshipIdAndApproverRoleAndStatusOrderByActionDateDesc(
+                internshipId, roleName(approverRole), status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean hasApprovalFromRole(Long internshipId, String approverRole) {
-        return approvalRepository.findByInternshipIdOrderByActionDateDesc(internshipId)
-            .stream()
-            .anyMatch(approval -> approval.getApprover().getRole().equals(approverRole));
+        return approvalRepository.existsByInternshipIdAndApproverRole(internshipId, roleName(approverRole));
+    }
+
+    // User.hasRole ile aynı kural: rol adı önekli ya da öneksiz verilebilir
+    private String roleName(String role) {
+        return role.startsWith("ROLE_") ? role : "ROLE_" + role;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.internship.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internship.entity.Holiday;
+import com.internship.exception.InvalidDateRangeException;
+import com.internship.exception.InvalidWorkDaysException;
+import com.internship.exception.ResourceNotFoundException;
+import com.internship.repository.ApplicationWorkingDaysRepository;
+import com.internship.repository.HolidayRepository;
+import com.internship.service.BusinessCalendarService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tatil tablosundan her yıl için bir bit kümesi ve haftanın her günü için önek toplamları
+ * üretir. Bir aralıktaki iş günü sayısı, aralığın kapsadığı her yıl için en fazla yedi çıkarma
+ * ile bulunur. Tatil eklendiğinde veya silindiğinde önbellek temizlenir.
+ *
+ * <p>Tarihler istekten geldiği için hesaplanan aralığın uzunluğu ve önbellekte tutulan yıl sayısı
+ * sınırlıdır; kullanıcı girdisi ayrıca bugünden en fazla {@code app.calendar.year-window} yıl uzakta olabilir.
+ */
+@Service
+public class BusinessCalendarServiceImpl implements BusinessCalendarService {
+
+    private final HolidayRepository holidayRepository;
+    private final ApplicationWorkingDaysRepository workingDaysRepository;
+    private final int maxSpanDays;
+    private final int yearWindow;
+
+    private final Cache<Integer, YearCalendar> years;
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessCalendarServiceImpl.class);
+
+    public BusinessCalendarServiceImpl(HolidayRepository holidayRepository,
+                                       ApplicationWorkingDaysRepository workingDaysRepository,
+                                       @Value("${app.calendar.max-span-days:366}") int maxSpanDays,
+                                       @Value("${app.calendar.year-window:5}") int yearWindow,
+                                       @Value("${app.calendar.cached-years:16}") int cachedYears) {
+        this.holidayRepository = holidayRepository;
+        this.workingDaysRepository = workingDaysRepository;
+        this.maxSpanDays = maxSpanDays;
+        this.yearWindow = yearWindow;
+        this.years = Caffeine.newBuilder().maximumSize(cachedYears).build();
+    }
+
+    @Override
+    public int countBusinessDays(LocalDate startDate, LocalDate endDate, Set<DayOfWeek> workWeek) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate) || workWeek.isEmpty()) {
+            return 0;
+        }
+        // Kayıtlı stajlar için de çağrıldığından yıl penceresi değil, sadece aralık uzunluğu sınırlanır
+        checkSpan(startDate, endDate);
+        int total = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            YearCalendar calendar = yearCalendar(year);
+            LocalDate from = year == startDate.getYear() ? startDate : LocalDate.of(year, 1, 1);
+            LocalDate to = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+            total += calendar.count(from.getDayOfYear() - 1, to.getDayOfYear(), workWeek);
+        }
+        return total;
+    }
+
+    @Override
+    public boolean isBusinessDay(LocalDate date, Set<DayOfWeek> workWeek) {
+        return workWeek.contains(date.getDayOfWeek())
+                && !yearCalendar(date.getYear()).holidays.get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public Set<DayOfWeek> getWorkWeek(Long internshipId) {
+        List<DayOfWeek> days = workingDaysRepository.findDaysOfWeekByInternshipId(internshipId);
+        return days.isEmpty() ? DEFAULT_WORK_WEEK : EnumSet.copyOf(days);
+    }
+
+    @Override
+    public void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidDateRangeException("Bitiş tarihi başlangıç tarihinden önce olamaz", startDate, endDate);
+        }
+        int currentYear = Year.now().getValue();
+        if (Math.abs(startDate.getYear() - currentYear) > yearWindow || Math.abs(endDate.getYear() - currentYear) > yearWindow) {
+            throw new InvalidDateRangeException(String.format(
+                    "Tarihler %d - %d yılları arasında olmalıdır", currentYear - yearWindow, currentYear + yearWindow),
+                    startDate, endDate);
+        }
+        checkSpan(startDate, endDate);
+    }
+
+    @Override
+    public void validateWorkDays(LocalDate startDate, LocalDate endDate, Integer workDays, Set<DayOfWeek> workWeek) {
+        if (startDate == null || endDate == null || workDays == null) {
+            return;
+        }
+        validateDateRange(startDate, endDate);
+        int businessDays = countBusinessDays(startDate, endDate, workWeek);
+        if (workDays < 1 || workDays > businessDays) {
+            throw new InvalidWorkDaysException(String.format(
+                    "Çalışma günü sayısı 1 ile %d arasında olmalıdır (%s - %s arası iş günü)", businessDays, startDate, endDate),
+                    workDays, businessDays);
+        }
+    }
+
+    @Override
+    public List<Holiday> getHolidays() {
+        return holidayRepository.findAllByOrderByDateAsc();
+    }
+
+    @Override
+    public Holiday addHoliday(Holiday holiday) {
+        Holiday saved = holidayRepository.save(holiday);
+        years.invalidateAll();
+        return saved;
+    }
+
+    @Override
+    public void deleteHoliday(Long id) {
+        Holiday holiday = holidayRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday not found with id: " + id));
+        holidayRepository.delete(holiday);
+        years.invalidateAll();
+    }
+
+    private void checkSpan(LocalDate startDate, LocalDate endDate) {
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxSpanDays) {
+            throw new InvalidDateRangeException(String.format(
+                    "Tarih aralığı en fazla %d gün olabilir (%s - %s)", maxSpanDays, startDate, endDate),
+                    startDate, endDate);
+        }
+    }
+
+    private YearCalendar yearCalendar(int year) {
+        return years.get(year, this::buildYear);
+    }
+
+    private YearCalendar buildYear(int year) {
+        int length = Year.of(year).length();
+        BitSet holidays = new BitSet(length);
+        for (Holiday holiday : holidayRepository.findByRecurringTrue()) {
+            MonthDay monthDay = MonthDay.from(holiday.getDate());
+            if (monthDay.isValidYear(year)) {
+                holidays.set(monthDay.atYear(year).getDayOfYear() - 1);
+            }
+        }
+        for (Holiday holiday : holidayRepository.findByRecurringFalseAndDateBetween(
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            holidays.set(holiday.getDate().getDayOfYear() - 1);
+        }
+
+        // prefix[d][i]: yılın ilk i gününde, haftanın d. gününe düşen tatil olmayan gün sayısı
+        int[][] prefix = new int[7][length + 1];
+        int firstDow = LocalDate.of(year, 1, 1).getDayOfWeek().ordinal();
+        for (int i = 0; i < length; i++) {
+            int dow = (firstDow + i) % 7;
+            for (int d = 0; d < 7; d++) {
+                prefix[d][i + 1] = prefix[d][i] + (d == dow && !holidays.get(i) ? 1 : 0);
+            }
+        }
+        logger.debug("Built business calendar for {} with {} holidays", year, holidays.cardinality());
+        return new YearCalendar(holidays, prefix);
+    }
+
+    private static final class YearCalendar {
+        private final BitSet holidays;
+        private final int[][] prefix;
+
+        private YearCalendar(BitSet holidays, int[][] prefix) {
+            this.holidays = holidays;
+            this.prefix = prefix;
+        }
+
+        // [fromIndex, toIndex) aralığındaki, verilen haftanın günlerine düşen tatil olmayan günler
+        private int count(int fromIndex, int toIndex, Set<DayOfWeek> workWeek) {
+            int total = 0;
+            for (DayOfWeek day : workWeek) {
+                int[] counts = prefix[day.ordinal()];
+                total += counts[toIndex] - counts[fromIndex];
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.internship.service.impl;
+
+import com.internship.dto.ArchiveEntry;
+import com.internship.entity.Document;
+import com.internship.entity.InternshipReport;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import com.internship.exception.ResourceNotFoundException;
+import com.internship.repository.DocumentRepository;
+import com.internship.repository.InternshipReportRepository;
+import com.internship.repository.InternshipRepository;
+import com.internship.service.DocumentArchiveService;
+import com.internship.service.FileStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+public class DocumentArchiveServiceImpl implements DocumentArchiveService {
+
+    private static final String MISSING_FILES_ENTRY = "MISSING_FILES.txt";
+
+    // Zaten sıkıştırılmış formatlar tekrar deflate edilmez, olduğu gibi (STORED) yazılır
+    private static final Set<String> PRECOMPRESSED_EXTENSIONS =
+            Set.of("pdf", "docx", "xlsx", "pptx", "zip", "gz", "png", "jpg", "jpeg");
+
+    private final DocumentRepository documentRepository;
+    private final InternshipReportRepository reportRepository;
+    private final InternshipRepository internshipRepository;
+    private final FileStorageService fileStorageService;
+    private final AsyncTaskExecutor archiveReadExecutor;
+
+    @Value("${app.archive.read-ahead:4}")
+    private int readAhead;
+
+    @Value("${app.archive.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${app.archive.max-buffered-file-size:4MB}")
+    private DataSize maxBufferedFileSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentArchiveServiceImpl.class);
+
+    public DocumentArchiveServiceImpl(DocumentRepository documentRepository,
+                                      InternshipReportRepository reportRepository,
+                                      InternshipRepository internshipRepository,
+                                      FileStorageService fileStorageService,
+                                      @Qualifier("archiveReadExecutor") AsyncTaskExecutor archiveReadExecutor) {
+        this.documentRepository = documentRepository;
+        this.reportRepository = reportRepository;
+        this.internshipRepository = internshipRepository;
+        this.fileStorageService = fileStorageService;
+        this.archiveReadExecutor = archiveReadExecutor;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArchiveEntry> getInternshipEntries(Long internshipId) {
+        if (!internshipRepository.existsById(internshipId)) {
+            throw new ResourceNotFoundException("Staj bulunamadı: " + internshipId);
+        }
+
+        List<ArchiveEntry> entries = new ArrayList<>();
+        documentRepository.findByInternshipId(internshipId).forEach(document -> entries.add(toEntry(internshipId, document)));
+        reportRepository.findByInternshipId(internshipId).forEach(report -> entries.add(toEntry(internshipId, report)));
+        return entries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArchiveEntry> getCohortEntries(LocalDate from, LocalDate to, InternshipStatus status, InternshipType type) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+
+        List<ArchiveEntry> entries = new ArrayList<>();
+        for (Document document : documentRepository.findForArchive(from, to, status, type)) {
+            entries.add(toEntry(document.getInternship().getId(), document));
+        }
+        for (InternshipReport report : reportRepository.findForArchive(from, to, status, type)) {
+            entries.add(toEntry(report.getInternship().getId(), report));
+        }
+
+        if (entries.size() > maxEntries) {
+            throw new IllegalArgumentException("Arşiv en fazla " + maxEntries + " dosya içerebilir, seçilen aralıkta "
+                    + entries.size() + " dosya var. Lütfen aralığı daraltın.");
+        }
+        return entries;
+    }
+
+    /**
+     * Dosyalar okuma havuzunda paralel okunur, yazıcı ise giriş sırasını koruyarak tek thread'de
+     * ZIP'e ekler. Aynı anda en fazla {@code readAhead} dosya bellekte tutulur; {@code maxBufferedFileSize}
+     * değerini aşan dosyalar belleğe alınmaz, yazıcı thread'inde doğrudan ZIP'e akıtılır. Böylece bir
+     * indirmenin tuttuğu bellek en fazla {@code readAhead × maxBufferedFileSize} olur.
+     */
+    @Override
+    public void writeZip(List<ArchiveEntry> entries, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Deque<Future<LoadedFile>> window = new ArrayDeque<>();
+        Iterator<ArchiveEntry> pending = entries.iterator();
+        List<String> missing = new ArrayList<>();
+
+        try {
+            while (window.size() < readAhead && pending.hasNext()) {
+                window.add(submitRead(pending.next()));
+            }
+
+            while (!window.isEmpty()) {
+                LoadedFile file = await(window.poll());
+                if (pending.hasNext()) {
+                    window.add(submitRead(pending.next()));
+                }
+
+                boolean written;
+                if (file.missing()) {
+                    written = false;
+                } else if (file.data() == null) {
+                    written = streamEntry(zip, file.entry());
+                } else {
+                    writeEntry(zip, file);
+                    written = true;
+                }
+                if (!written) {
+                    missing.add(file.entry().getEntryName() + " <- " + file.entry().getFilePath());
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                byte[] listing = String.join("\n", missing).getBytes(StandardCharsets.UTF_8);
+                zip.putNextEntry(new ZipEntry(MISSING_FILES_ENTRY));
+                zip.write(listing);
+                zip.closeEntry();
+            }
+
+            // Alttaki response stream'i servlet container kapatır
+            zip.finish();
+            zip.flush();
+            logger.info("Archive with {} entries ({} missing) streamed in {} ms",
+                    entries.size(), missing.size(), System.currentTimeMillis() - start);
+        } finally {
+            // İstemci bağlantıyı kopardıysa bekleyen okumaları iptal et
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // Sınırı aşan dosyanın okunan kısmı bırakılır; dosya yazıcı thread'inde baştan akıtılır
+    private Future<LoadedFile> submitRead(ArchiveEntry entry) {
+        int limit = (int) Math.min(maxBufferedFileSize.toBytes(), Integer.MAX_VALUE - 1);
+        return archiveReadExecutor.submit(() -> {
+            try {
+                byte[] data;
+                try (InputStream in = fileStorageService.openStream(entry.getFilePath())) {
+                    data = in.readNBytes(limit + 1);
+                }
+                if (data.length > limit) {
+                    return new LoadedFile(entry, null, 0, false);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                return new LoadedFile(entry, data, crc.getValue(), false);
+            } catch (NoSuchFileException e) {
+                logger.warn("File missing while building archive: {}", entry.getFilePath());
+                return new LoadedFile(entry, null, 0, true);
+            }
+        });
+    }
+
+    private LoadedFile await(Future<LoadedFile> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Archive streaming interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not read file for archive", e.getCause());
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, LoadedFile file) throws IOException {
+        ZipEntry zipEntry = newZipEntry(file.entry());
+        if (isPrecompressed(file.entry().getEntryName())) {
+            zipEntry.setMethod(ZipEntry.STORED);
+            zipEntry.setSize(file.data().length);
+            zipEntry.setCompressedSize(file.data().length);
+            zipEntry.setCrc(file.crc());
+        }
+        zip.putNextEntry(zipEntry);
+        zip.write(file.data());
+        zip.closeEntry();
+    }
+
+    // STORED girişler için CRC önceden bilinmeli; akıtılan sıkıştırılmış formatlar sıkıştırma seviyesi 0 ile yazılır
+    private boolean streamEntry(ZipOutputStream zip, ArchiveEntry entry) throws IOException {
+        InputStream in;
+        try {
+            in = fileStorageService.openStream(entry.getFilePath());
+        } catch (NoSuchFileException e) {
+            logger.warn("File missing while building archive: {}", entry.getFilePath());
+            return false;
+        }
+
+        boolean precompressed = isPrecompressed(entry.getEntryName());
+        try (in) {
+            if (precompressed) {
+                zip.setLevel(Deflater.NO_COMPRESSION);
+            }
+            zip.putNextEntry(newZipEntry(entry));
+            in.transferTo(zip);
+            zip.closeEntry();
+        } finally {
+            if (precompressed) {
+                zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+            }
+        }
+        return true;
+    }
+
+    private ZipEntry newZipEntry(ArchiveEntry entry) {
+        ZipEntry zipEntry = new ZipEntry(entry.getEntryName());
+        if (entry.getLastModified() != null) {
+            zipEntry.setTimeLocal(entry.getLastModified());
+        }
+        return zipEntry;
+    }
+
+    private boolean isPrecompressed(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && PRECOMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase());
+    }
+
+    private ArchiveEntry toEntry(Long internshipId, Document document) {
+        String name = "internship_" + internshipId + "/documents/" + document.getId() + "_" + sanitize(document.getFileName());
+        return new ArchiveEntry(name, document.getFilePath(), document.getUploadedAt());
+    }
+
+    private ArchiveEntry toEntry(Long internshipId, InternshipReport report) {
+        String name = "internship_" + internshipId + "/reports/" + report.getId() + "_" + sanitize(report.getFileName());
+        return new ArchiveEntry(name, report.getFilePath(), report.getUploadedAt());
+    }
+
+    // Kullanıcıdan gelen dosya adları arşiv içinde dizin gezintisine yol açmamalı
+    private String sanitize(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return "file";
+        }
+        return fileName.replaceAll("[\\\\/:*?\"<>|]", "_").replace("..", "_");
+    }
+
+    // data null ve missing false ise dosya belleğe alınmayacak kadar büyüktür
+    private record LoadedFile(ArchiveEntry entry, byte[] data, long crc, boolean missing) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.internship.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.event.FileDeletedEvent;
+import com.internship.event.FileUploadedEvent;
+import com.internship.service.DocumentPreviewService;
+import com.internship.service.FileStorageService;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class DocumentPreviewServiceImpl implements DocumentPreviewService {
+
+    public static final String PREVIEW_SUFFIX = ".preview.png";
+    public static final String METADATA_SUFFIX = ".meta.json";
+
+    private static final int EXCERPT_LENGTH = 500;
+
+    // Dolu kuyruk işi loglayıp bıraktığı için bekleyen kayıt bu süreden sonra geçersiz sayılır
+    private static final long PENDING_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final ObjectMapper objectMapper;
+    private final FileStorageService fileStorageService;
+    private final TaskExecutor documentTaskExecutor;
+
+    // Kuyrukta ya da üretimde olan önizlemeler ve kuyruğa alınma zamanları; istemci hazır olana kadar
+    // sorgularken aynı dosya tekrar kuyruğa alınmaz
+    private final Map<String, Long> pendingRenders = new ConcurrentHashMap<>();
+
+    @Value("${app.preview.dpi:72}")
+    private float previewDpi;
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPreviewServiceImpl.class);
+
+    public DocumentPreviewServiceImpl(ObjectMapper objectMapper,
+                                      FileStorageService fileStorageService,
+                                      @Qualifier("documentTaskExecutor") TaskExecutor documentTaskExecutor) {
+        this.objectMapper = objectMapper;
+        this.fileStorageService = fileStorageService;
+        this.documentTaskExecutor = documentTaskExecutor;
+    }
+
+    // Dosya kaydı commit edildikten sonra önizleme arka planda üretilir
+    @Async("documentTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileUploaded(FileUploadedEvent event) {
+        renderPreview(event.getFilePath());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileDeleted(FileDeletedEvent event) {
+        deletePreview(event.getFilePath());
+    }
+
+    @Override
+    public void schedulePreview(String filePath) {
+        if (!supportsPreview(filePath)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long queuedAt = pendingRenders.putIfAbsent(filePath, now);
+        if (queuedAt != null
+                && (now - queuedAt < PENDING_TIMEOUT_MILLIS || !pendingRenders.replace(filePath, queuedAt, now))) {
+            return;
+        }
+        documentTaskExecutor.execute(() -> {
+            try {
+                renderPreview(filePath);
+            } finally {
+                pendingRenders.remove(filePath, now);
+            }
+        });
+    }
+
+    @Override
+    public boolean supportsPreview(String filePath) {
+        return isPdf(filePath);
+    }
+
+    @Override
+    public Optional<Path> getPreview(String filePath) {
+        Path preview = Paths.get(filePath + PREVIEW_SUFFIX);
+        return Files.isReadable(preview) ? Optional.of(preview) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getMetadata(String filePath) {
+        Path metadata = Paths.get(filePath + METADATA_SUFFIX);
+        if (!Files.isReadable(metadata)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(metadata.toFile(), new TypeReference<LinkedHashMap<String, Object>>() {}));
+        } catch (IOException e) {
+            logger.warn("Could not read metadata file: {}", metadata, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void deletePreview(String filePath) {
+        try {
+            Files.deleteIfExists(Paths.get(filePath + PREVIEW_SUFFIX));
+            Files.deleteIfExists(Paths.get(filePath + METADATA_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Could not delete preview files for: {}", filePath, e);
+        }
+    }
+
+    @Override
+    public Optional<String> extractText(String filePath) {
+        if (!isPdf(filePath) || !Files.isReadable(Paths.get(filePath))) {
+            return Optional.empty();
+        }
+        try (PDDocument pdf = loadPdf(filePath)) {
+            return Optional.of(new PDFTextStripper().getText(pdf));
+        } catch (IOException e) {
+            logger.warn("Could not extract text from: {}", filePath, e);
+            return Optional.empty();
+        }
+    }
+
+    private void renderPreview(String filePath) {
+        Path source = Paths.get(filePath);
+        if (!Files.isReadable(source)) {
+            logger.warn("Source file not found for preview generation: {}", filePath);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        try {
+            metadata.put("fileSize", Files.size(source));
+            metadata.put("generatedAt", LocalDateTime.now().toString());
+
+            if (isPdf(filePath)) {
+                try (PDDocument pdf = loadPdf(filePath)) {
+                    collectPdfMetadata(pdf, metadata);
+
+                    // Sadece ilk sayfa düşük çözünürlükte render edilir
+                    BufferedImage image = new PDFRenderer(pdf).renderImageWithDPI(0, previewDpi, ImageType.RGB);
+                    writeAtomically(Paths.get(filePath + PREVIEW_SUFFIX), out -> ImageIO.write(image, "png", out));
+                } catch (IOException e) {
+                    // Bozuk PDF: meta veri yine yazılır, önizleme tekrar denenmez
+                    logger.warn("Could not render preview for: {}", filePath, e);
+                    metadata.put("previewFailed", true);
+                }
+            }
+
+            writeAtomically(Paths.get(filePath + METADATA_SUFFIX), out -> objectMapper.writeValue(out, metadata));
+            logger.debug("Preview generated for {} in {} ms", filePath, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.error("Failed to generate preview for: {}", filePath, e);
+        }
+    }
+
+    private boolean isPdf(String filePath) {
+        return fileStorageService.originalName(filePath).toLowerCase().endsWith(".pdf");
+    }
+
+    // Arşiv katmanındaki dosyalar bellek içinde açılır, diğerleri doğrudan diskten okunur
+    private PDDocument loadPdf(String filePath) throws IOException {
+        if (!fileStorageService.isArchived(filePath)) {
+            return Loader.loadPDF(Paths.get(filePath).toFile());
+        }
+        try (InputStream in = fileStorageService.openStream(filePath)) {
+            return Loader.loadPDF(new RandomAccessReadBuffer(in));
+        }
+    }
+
+    private void collectPdfMetadata(PDDocument pdf, Map<String, Object> metadata) throws IOException {
+        metadata.put("pageCount", pdf.getNumberOfPages());
+
+        PDDocumentInformation info = pdf.getDocumentInformation();
+        if (info != null) {
+            putIfPresent(metadata, "title", info.getTitle());
+            putIfPresent(metadata, "author", info.getAuthor());
+            putIfPresent(metadata, "subject", info.getSubject());
+            putIfPresent(metadata, "creator", info.getCreator());
+            if (info.getCreationDate() != null) {
+                metadata.put("creationDate", info.getCreationDate().toInstant().toString());
+            }
+        }
+
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(1);
+        stripper.setEndPage(1);
+        String text = stripper.getText(pdf).strip();
+        metadata.put("excerpt", text.length() > EXCERPT_LENGTH ? text.substring(0, EXCERPT_LENGTH) : text);
+    }
+
+    private void putIfPresent(Map<String, Object> metadata, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            metadata.put(key, value);
+        }
+    }
+
+    private void writeAtomically(Path target, PreviewWriter writer) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            writer.write(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @FunctionalInterface
+    private interface PreviewWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
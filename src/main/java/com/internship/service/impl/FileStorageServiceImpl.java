@@ -0,0 +1,121 @@
+package com.internship.service.impl;
+
+import com.internship.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Dosyaları birincil diskte ya da gzip ile sıkıştırılmış arşiv katmanında okur.
+ * Arşivlenmiş dosyalar arşiv dizini altındadır, yolları ".gz" ile biter ve okurken akış halinde açılır.
+ * Kullanıcının yüklediği .gz dosyaları arşiv dizini dışında kaldığı için olduğu gibi verilir.
+ */
+@Service
+public class FileStorageServiceImpl implements FileStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path archiveRoot;
+
+    public FileStorageServiceImpl(@Value("${app.tiering.archive-dir:archive}") String archiveDir) {
+        this.archiveRoot = Paths.get(archiveDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean isArchived(String filePath) {
+        return filePath != null && filePath.endsWith(ARCHIVE_SUFFIX)
+                && Paths.get(filePath).toAbsolutePath().normalize().startsWith(archiveRoot);
+    }
+
+    @Override
+    public String originalName(String filePath) {
+        return isArchived(filePath) ? filePath.substring(0, filePath.length() - ARCHIVE_SUFFIX.length()) : filePath;
+    }
+
+    @Override
+    public InputStream openStream(String filePath) throws IOException {
+        InputStream in = Files.newInputStream(Paths.get(filePath));
+        return isArchived(filePath) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    @Override
+    public Resource loadAsResource(String filePath) {
+        return isArchived(filePath) ? new GzipFileResource(Paths.get(filePath)) : new FileSystemResource(filePath);
+    }
+
+    @Override
+    public boolean exists(String filePath) {
+        return filePath != null && Files.exists(Paths.get(filePath));
+    }
+
+    /**
+     * Her okumada açılıp çözülen gzip dosyası. Content-Length için tüm akışı okumamak adına
+     * orijinal boyut gzip trailer'ındaki ISIZE alanından alınır.
+     */
+    static class GzipFileResource extends AbstractResource {
+
+        private final Path path;
+
+        GzipFileResource(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean exists() {
+            return Files.exists(path);
+        }
+
+        @Override
+        public boolean isReadable() {
+            return Files.isReadable(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new GZIPInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() < 4) {
+                    return super.contentLength();
+                }
+                ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(trailer, channel.size() - 4);
+                trailer.flip();
+                // ISIZE 2^32 modunda tutulur, arşivdeki belgeler bu boyutun çok altında
+                return Integer.toUnsignedLong(trailer.getInt());
+            }
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return Files.getLastModifiedTime(path).toMillis();
+        }
+
+        @Override
+        public String getFilename() {
+            String name = path.getFileName().toString();
+            return name.substring(0, name.length() - ARCHIVE_SUFFIX.length());
+        }
+
+        @Override
+        public String getDescription() {
+            return "gzip archived file [" + path.toAbsolutePath() + "]";
+        }
+    }
+}
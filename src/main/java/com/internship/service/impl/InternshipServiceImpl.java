@@ -1,19 +1,29 @@
 package com.internship.service.impl;
 
 import com.internship.dto.InternshipRequest;
+import com.internship.dto.InternshipStatisticKey;
+import com.internship.entity.ApprovalEventType;
 import com.internship.entity.Document;
 import com.internship.entity.Internship;
 import com.internship.entity.NotificationType;
 import com.internship.entity.User;
+import com.internship.event.FileUploadedEvent;
+import com.internship.event.InternshipChangedEvent;
+import com.internship.event.StoredFileType;
 import com.internship.repository.DocumentRepository;
 import com.internship.repository.InternshipRepository;
 import com.internship.repository.UserRepository;
+import com.internship.service.ApprovalEventService;
+import com.internship.service.BusinessCalendarService;
 import com.internship.service.InternshipService;
+import com.internship.service.InternshipStatisticsService;
 import com.internship.service.NotificationService;
 import com.internship.security.UserSecurity;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -41,11 +51,20 @@ public class InternshipServiceImpl implements InternshipService {
     private final NotificationService notificationService;
     private final UserSecurity userSecurity;
     private final DocumentRepository documentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InternshipStatisticsService statisticsService;
+    private final ApprovalEventService approvalEventService;
+    private final BusinessCalendarService businessCalendarService;
+    private final EntityManager entityManager;
     private static final Logger logger = LoggerFactory.getLogger(InternshipServiceImpl.class);
 
     @Override
     public Internship createInternship(InternshipRequest request) {
         User student = userSecurity.getCurrentUser();
+
+        // Yeni başvuruda haftalık program henüz girilmediği için varsayılan hafta içi kullanılır
+        businessCalendarService.validateWorkDays(request.getStartDate(), request.getEndDate(), request.getWorkDays(),
+                BusinessCalendarService.DEFAULT_WORK_WEEK);
         
         Internship internship = Internship.builder()
                 .student(student)
@@ -69,10 +88,16 @@ public class InternshipServiceImpl implements InternshipService {
             internship.setBankBranch(request.getBankBranch());
         }
         
-        return internshipRepository.save(internship);
+        Internship savedInternship = internshipRepository.save(internship);
+        approvalEventService.record(savedInternship.getId(), ApprovalEventType.CREATED,
+                null, savedInternship.getStatus(), student, null, null);
+        statisticsService.recordCreated(savedInternship);
+        eventPublisher.publishEvent(new InternshipChangedEvent(savedInternship.getId(), false));
+        return savedInternship;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Internship getInternshipById(Long id) {
         return internshipRepository.findByIdWithDocumentsAndApprovals(id)
                 .orElseThrow(() -> {
@@ -82,6 +107,20 @@ public class InternshipServiceImpl implements InternshipService {
     }
 
     @Override
+    public Internship getInternshipForUpdate(Long id) {
+        Internship internship = internshipRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.error("Internship not found with ID: {}", id);
+                    return new ResourceNotFoundException("Internship not found with id: " + id);
+                });
+        // Aynı istekte erişim kontrolü gibi salt okunur bir okuma stajı replikadan yüklemiş olabilir;
+        // güncellenecek durum birincil veritabanından yeniden okunur
+        entityManager.refresh(internship);
+        return internship;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Internship> getAllInternships() {
         // Artık koleksiyonlar Set olduğu için bir seferde çekebiliriz
         List<Internship> internships = internshipRepository.findAllWithDetails();
@@ -90,6 +129,7 @@ public class InternshipServiceImpl implements InternshipService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Internship> getInternshipsByStudent(User student) {
         // Set tipine dönüştürüldüğü için artık tüm ilişkili verileri tek seferde çekebiliriz
         List<Internship> internships = internshipRepository.findByStudentWithAllDetails(student);
@@ -98,6 +138,7 @@ public class InternshipServiceImpl implements InternshipService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Internship> getInternshipsByAdvisor(User advisor) {
         // Set tipine dönüştürüldüğü için artık tüm ilişkili verileri tek seferde çekebiliriz
         List<Internship> internships = internshipRepository.findByAdvisorWithAllDetails(advisor);
@@ -113,20 +154,22 @@ public class InternshipServiceImpl implements InternshipService {
                     return new ResourceNotFoundException("Internship not found with id: " + internshipId);
                 });
         
-        User advisor = userRepository.findByIdWithRoles(advisorId)
+        User advisor = userRepository.findById(advisorId)
                 .orElseThrow(() -> {
                     logger.error("Advisor not found with ID: {}", advisorId);
                     return new ResourceNotFoundException("Advisor not found with id: " + advisorId);
                 });
 
         // Danışmanın geçerli rolü var mı kontrol et
-        if (advisor.getRoles().stream().noneMatch(role -> role.getName().equals("ROLE_FACULTY_ADVISOR"))) {
+        if (!advisor.hasRole("FACULTY_ADVISOR")) {
             logger.error("User with ID: {} does not have FACULTY_ADVISOR role", advisorId);
             throw new IllegalArgumentException("User is not a faculty advisor");
         }
 
         internship.setAdvisor(advisor);
         Internship savedInternship = internshipRepository.save(internship);
+        approvalEventService.record(internshipId, ApprovalEventType.ADVISOR_ASSIGNED, null, null,
+                userSecurity.getCurrentUser(), advisorId, null);
         
         // Öğrenciye bildirim gönder
         notificationService.sendNotification(
@@ -180,9 +223,12 @@ public class InternshipServiceImpl implements InternshipService {
                     .uploadedAt(LocalDateTime.now())
                     .build();
 
-            documentRepository.save(document);
+            Document savedDocument = documentRepository.save(document);
             logger.info("Document successfully uploaded and saved for internship ID: {}", internshipId);
 
+            eventPublisher.publishEvent(new FileUploadedEvent(
+                StoredFileType.DOCUMENT, savedDocument.getId(), internshipId, filePath));
+
             notificationService.sendNotification(
                 internship.getStudent().getId(),
                 "A new document has been uploaded for your internship",
@@ -247,11 +293,17 @@ public class InternshipServiceImpl implements InternshipService {
 
     @Override
     public Internship updateInternship(Internship internship) {
-        // İlgili internship'in var olduğunu kontrol et
-        getInternshipById(internship.getId());
+        // İstatistik için eski değerler, değişiklikler flush edilmeden önce okunur; kayıt yoksa burada hata verilir
+        InternshipStatisticKey before = statisticsService.getStoredKey(internship.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Internship not found with id: " + internship.getId()));
+        businessCalendarService.validateWorkDays(internship.getStartDate(), internship.getEndDate(), internship.getWorkDays(),
+                businessCalendarService.getWorkWeek(internship.getId()));
         
         // Güncellenmiş internship'i kaydet
-        return internshipRepository.save(internship);
+        Internship savedInternship = internshipRepository.save(internship);
+        statisticsService.recordUpdated(before, savedInternship);
+        eventPublisher.publishEvent(new InternshipChangedEvent(savedInternship.getId(), false));
+        return savedInternship;
     }
 
     @Override
@@ -268,5 +320,8 @@ public class InternshipServiceImpl implements InternshipService {
         }
         
         internshipRepository.delete(internship);
+        statisticsService.recordDeleted(internship);
+        approvalEventService.deleteState(id);
+        eventPublisher.publishEvent(new InternshipChangedEvent(id, true));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.internship.service.impl;
+
+import com.internship.dto.InternshipStatisticKey;
+import com.internship.entity.Internship;
+import com.internship.entity.InternshipStatistic;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import com.internship.repository.InternshipRepository;
+import com.internship.repository.InternshipStatisticRepository;
+import com.internship.service.InternshipStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Staj sayılarını durum, tür ve ücret kombinasyonu başına bir satırda tutar. Oluşturma, durum
+ * değişikliği, güncelleme ve silme aynı işlem içinde ilgili satırları artırıp azaltır. Okuma
+ * stajlar tablosunun boyutundan bağımsızdır. Periyodik yeniden hesaplama olası sapmaları düzeltir.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class InternshipStatisticsServiceImpl implements InternshipStatisticsService {
+
+    // Satırlar her zaman aynı sırayla güncellenir, yeniden hesaplamanın kilit sırasıyla aynıdır
+    private static final Comparator<Cell> CELL_ORDER = Comparator
+            .comparing((Cell cell) -> cell.getStatus().name())
+            .thenComparing(cell -> cell.getType().name())
+            .thenComparing(Cell::isPaid);
+
+    private final InternshipStatisticRepository statisticRepository;
+    private final InternshipRepository internshipRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(InternshipStatisticsServiceImpl.class);
+
+    @Override
+    public void recordCreated(Internship internship) {
+        apply(Map.of(cell(internship.getStatus(), internship.getType(), internship.getIsPaid()), 1L));
+    }
+
+    @Override
+    public void recordDeleted(Internship internship) {
+        apply(Map.of(cell(internship.getStatus(), internship.getType(), internship.getIsPaid()), -1L));
+    }
+
+    @Override
+    public void recordStatusChange(Internship internship, InternshipStatus from, InternshipStatus to) {
+        Map<Cell, Long> deltas = new HashMap<>();
+        deltas.merge(cell(from, internship.getType(), internship.getIsPaid()), -1L, Long::sum);
+        deltas.merge(cell(to, internship.getType(), internship.getIsPaid()), 1L, Long::sum);
+        apply(deltas);
+    }
+
+    @Override
+    public void recordStatusChanges(Map<Long, InternshipStatus> previousStatuses, InternshipStatus to) {
+        if (previousStatuses.isEmpty()) {
+            return;
+        }
+        Map<Cell, Long> deltas = new HashMap<>();
+        for (InternshipStatisticKey key : internshipRepository.findStatisticKeys(previousStatuses.keySet())) {
+            deltas.merge(cell(previousStatuses.get(key.getInternshipId()), key.getType(), key.getPaid()), -1L, Long::sum);
+            deltas.merge(cell(to, key.getType(), key.getPaid()), 1L, Long::sum);
+        }
+        apply(deltas);
+    }
+
+    @Override
+    public Optional<InternshipStatisticKey> getStoredKey(Long internshipId) {
+        return internshipRepository.findStoredStatisticKey(internshipId);
+    }
+
+    @Override
+    public void recordUpdated(InternshipStatisticKey before, Internship after) {
+        Map<Cell, Long> deltas = new HashMap<>();
+        deltas.merge(cell(before.getStatus(), before.getType(), before.getPaid()), -1L, Long::sum);
+        deltas.merge(cell(after.getStatus(), after.getType(), after.getIsPaid()), 1L, Long::sum);
+        apply(deltas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatistics() {
+        Map<InternshipStatus, Long> byStatus = new EnumMap<>(InternshipStatus.class);
+        Map<InternshipType, Long> byType = new EnumMap<>(InternshipType.class);
+        for (InternshipStatus status : InternshipStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (InternshipType type : InternshipType.values()) {
+            byType.put(type, 0L);
+        }
+
+        long total = 0;
+        long paid = 0;
+        LocalDateTime updatedAt = null;
+        LocalDateTime reconciledAt = null;
+        List<Map<String, Object>> cells = new ArrayList<>();
+        for (InternshipStatistic statistic : statisticRepository.findAll()) {
+            total += statistic.getCount();
+            paid += statistic.isPaid() ? statistic.getCount() : 0;
+            byStatus.merge(statistic.getStatus(), statistic.getCount(), Long::sum);
+            byType.merge(statistic.getType(), statistic.getCount(), Long::sum);
+            if (statistic.getUpdatedAt() != null && (updatedAt == null || statistic.getUpdatedAt().isAfter(updatedAt))) {
+                updatedAt = statistic.getUpdatedAt();
+            }
+            if (statistic.getReconciledAt() != null && (reconciledAt == null || statistic.getReconciledAt().isBefore(reconciledAt))) {
+                reconciledAt = statistic.getReconciledAt();
+            }
+            if (statistic.getCount() > 0) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("status", statistic.getStatus());
+                entry.put("type", statistic.getType());
+                entry.put("paid", statistic.isPaid());
+                entry.put("count", statistic.getCount());
+                cells.add(entry);
+            }
+        }
+
+        Map<String, Long> byPaid = new LinkedHashMap<>();
+        byPaid.put("paid", paid);
+        byPaid.put("unpaid", total - paid);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", total);
+        result.put("byStatus", byStatus);
+        result.put("byType", byType);
+        result.put("byPaid", byPaid);
+        result.put("cells", cells);
+        result.put("updatedAt", updatedAt);
+        result.put("reconciledAt", reconciledAt);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT6H}", initialDelayString = "${app.stats.reconcile-interval:PT6H}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Sayaç satırları kilitlendikten sonra stajlar gruplanarak sayılır. Kilit bırakılana kadar
+     * yeni artırımlar bekler; kilitten önce artırım yapmış işlemlerin kayıtları sayıma girer.
+     * Eksik kombinasyon satırları burada oluşturulur.
+     */
+    @Override
+    public Map<String, Object> reconcile() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Cell, InternshipStatistic> stored = new HashMap<>();
+        for (InternshipStatistic statistic : statisticRepository.findAllForUpdate()) {
+            stored.put(new Cell(statistic.getStatus(), statistic.getType(), statistic.isPaid()), statistic);
+        }
+        Map<Cell, Long> actual = new HashMap<>();
+        for (Object[] row : internshipRepository.countByStatusTypeAndPaid()) {
+            actual.put(cell((InternshipStatus) row[0], (InternshipType) row[1], (Boolean) row[2]), ((Number) row[3]).longValue());
+        }
+
+        int created = 0;
+        int corrected = 0;
+        List<InternshipStatistic> changed = new ArrayList<>();
+        for (InternshipStatus status : InternshipStatus.values()) {
+            for (InternshipType type : InternshipType.values()) {
+                for (boolean paid : new boolean[]{false, true}) {
+                    Cell cell = new Cell(status, type, paid);
+                    long expected = actual.getOrDefault(cell, 0L);
+                    InternshipStatistic statistic = stored.get(cell);
+                    if (statistic == null) {
+                        statistic = InternshipStatistic.builder().status(status).type(type).paid(paid).updatedAt(now).build();
+                        created++;
+                    } else if (statistic.getCount() != expected) {
+                        logger.warn("Internship statistic {} drifted: stored {}, actual {}", cell, statistic.getCount(), expected);
+                        statistic.setUpdatedAt(now);
+                        corrected++;
+                    }
+                    statistic.setCount(expected);
+                    statistic.setReconciledAt(now);
+                    changed.add(statistic);
+                }
+            }
+        }
+        statisticRepository.saveAll(changed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("created", created);
+        result.put("corrected", corrected);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        logger.info("Internship statistics reconciled: {}", result);
+        return result;
+    }
+
+    // Satırı olmayan kombinasyon atlanır, bir sonraki yeniden hesaplamada oluşturulur
+    private void apply(Map<Cell, Long> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Cell, Long> ordered = new TreeMap<>(CELL_ORDER);
+        ordered.putAll(deltas);
+        ordered.forEach((cell, delta) -> {
+            if (delta != 0 && statisticRepository.increment(cell.getStatus(), cell.getType(), cell.isPaid(), delta, now) == 0) {
+                logger.warn("No statistic row for {}, change of {} will be applied at the next reconciliation", cell, delta);
+            }
+        });
+    }
+
+    private Cell cell(InternshipStatus status, InternshipType type, Boolean paid) {
+        return new Cell(status, type, Boolean.TRUE.equals(paid));
+    }
+
+    @Value
+    private static class Cell {
+        InternshipStatus status;
+        InternshipType type;
+        boolean paid;
+    }
+}
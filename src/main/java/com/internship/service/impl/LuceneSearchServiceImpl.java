@@ -0,0 +1,385 @@
+package com.internship.service.impl;
+
+import com.internship.dto.SearchHit;
+import com.internship.dto.SearchResponse;
+import com.internship.entity.Internship;
+import com.internship.entity.InternshipReport;
+import com.internship.event.FileDeletedEvent;
+import com.internship.event.FileUploadedEvent;
+import com.internship.event.InternshipChangedEvent;
+import com.internship.event.StoredFileType;
+import com.internship.repository.DocumentRepository;
+import com.internship.repository.InternshipReportRepository;
+import com.internship.repository.InternshipRepository;
+import com.internship.service.DocumentPreviewService;
+import com.internship.service.SearchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class LuceneSearchServiceImpl implements SearchService {
+
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "entityId";
+    private static final String FIELD_INTERNSHIP_ID = "internshipId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+
+    private static final String TYPE_INTERNSHIP = "INTERNSHIP";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private final InternshipRepository internshipRepository;
+    private final DocumentRepository documentRepository;
+    private final InternshipReportRepository reportRepository;
+    private final DocumentPreviewService documentPreviewService;
+
+    @Value("${app.search.index-dir:search-index}")
+    private String indexDir;
+
+    @Value("${app.search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    private static final Logger logger = LoggerFactory.getLogger(LuceneSearchServiceImpl.class);
+
+    @PostConstruct
+    public void openIndex() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        indexWriter = new IndexWriter(FSDirectory.open(Paths.get(indexDir)), config);
+        searcherManager = new SearcherManager(indexWriter, null);
+        logger.info("Search index opened at {} with {} documents", indexDir, indexWriter.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void closeIndex() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+    // İndeks boşsa (ilk kurulum veya silinmiş dizin) veritabanından yeniden oluştur
+    @Async("documentTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup || indexWriter.getDocStats().numDocs == 0) {
+            rebuild();
+        }
+    }
+
+    @Async("documentTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileUploaded(FileUploadedEvent event) {
+        if (event.getFileType() == StoredFileType.DOCUMENT) {
+            indexDocument(event.getFileId());
+        } else {
+            indexReport(event.getFileId());
+        }
+    }
+
+    @Async("documentTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileDeleted(FileDeletedEvent event) {
+        if (event.getFileType() == StoredFileType.DOCUMENT) {
+            removeDocument(event.getFileId());
+        } else {
+            removeReport(event.getFileId());
+        }
+    }
+
+    @Async("documentTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInternshipChanged(InternshipChangedEvent event) {
+        if (event.isDeleted()) {
+            removeInternship(event.getInternshipId());
+        } else {
+            indexInternship(event.getInternshipId());
+        }
+    }
+
+    @Override
+    public SearchResponse search(String queryText, int page, int size) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        int window = Math.min((pageNumber + 1) * pageSize, MAX_RESULT_WINDOW);
+
+        Query query = parseQuery(queryText);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, window);
+            StoredFields storedFields = searcher.storedFields();
+
+            Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new QueryScorer(query));
+            highlighter.setTextFragmenter(new SimpleFragmenter(150));
+
+            List<SearchHit> hits = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = pageNumber * pageSize; i < scoreDocs.length; i++) {
+                Document doc = storedFields.document(scoreDocs[i].doc);
+                hits.add(SearchHit.builder()
+                        .type(doc.get(FIELD_TYPE))
+                        .id(doc.getField(FIELD_ID).numericValue().longValue())
+                        .internshipId(Long.valueOf(doc.get(FIELD_INTERNSHIP_ID)))
+                        .title(doc.get(FIELD_TITLE))
+                        .score(scoreDocs[i].score)
+                        .highlights(highlight(highlighter, doc))
+                        .build());
+            }
+
+            return SearchResponse.builder()
+                    .query(queryText)
+                    .totalHits(topDocs.totalHits.value)
+                    .page(pageNumber)
+                    .size(pageSize)
+                    .hits(hits)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        } finally {
+            releaseQuietly(searcher);
+        }
+    }
+
+    @Override
+    public void indexInternship(Long internshipId) {
+        internshipRepository.findById(internshipId).ifPresent(internship -> {
+            update(TYPE_INTERNSHIP, internship.getId(), internshipDocument(internship));
+            commit();
+        });
+    }
+
+    @Override
+    public void indexDocument(Long documentId) {
+        documentRepository.findById(documentId).ifPresent(document -> {
+            update(StoredFileType.DOCUMENT.name(), document.getId(), fileDocument(document));
+            commit();
+        });
+    }
+
+    @Override
+    public void indexReport(Long reportId) {
+        reportRepository.findById(reportId).ifPresent(report -> {
+            update(StoredFileType.REPORT.name(), report.getId(), reportDocument(report));
+            commit();
+        });
+    }
+
+    @Override
+    public void removeDocument(Long documentId) {
+        delete(new Term(FIELD_UID, uid(StoredFileType.DOCUMENT.name(), documentId)));
+    }
+
+    @Override
+    public void removeReport(Long reportId) {
+        delete(new Term(FIELD_UID, uid(StoredFileType.REPORT.name(), reportId)));
+    }
+
+    @Override
+    public void removeInternship(Long internshipId) {
+        // Staj silindiğinde bağlı belge ve raporlar da cascade ile silinir
+        delete(new Term(FIELD_INTERNSHIP_ID, String.valueOf(internshipId)));
+    }
+
+    @Override
+    @Async("documentTaskExecutor")
+    public void rebuildIndex() {
+        rebuild();
+    }
+
+    private synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        logger.info("Rebuilding search index from database");
+        try {
+            indexWriter.deleteAll();
+
+            Page<Internship> internships;
+            int page = 0;
+            do {
+                internships = internshipRepository.findAll(PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                for (Internship internship : internships) {
+                    update(TYPE_INTERNSHIP, internship.getId(), internshipDocument(internship));
+                }
+            } while (internships.hasNext());
+
+            Page<com.internship.entity.Document> documents;
+            page = 0;
+            do {
+                documents = documentRepository.findAll(PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                for (com.internship.entity.Document document : documents) {
+                    update(StoredFileType.DOCUMENT.name(), document.getId(), fileDocument(document));
+                }
+            } while (documents.hasNext());
+
+            Page<InternshipReport> reports;
+            page = 0;
+            do {
+                reports = reportRepository.findAll(PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                for (InternshipReport report : reports) {
+                    update(StoredFileType.REPORT.name(), report.getId(), reportDocument(report));
+                }
+            } while (reports.hasNext());
+
+            commit();
+            logger.info("Search index rebuilt with {} documents in {} ms",
+                    indexWriter.getDocStats().numDocs, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.error("Failed to rebuild search index", e);
+        }
+    }
+
+    private Document internshipDocument(Internship internship) {
+        return baseDocument(TYPE_INTERNSHIP, internship.getId(), internship.getId(),
+                internship.getCompanyName(), internship.getDescription());
+    }
+
+    private Document fileDocument(com.internship.entity.Document document) {
+        String content = join(document.getDescription(),
+                documentPreviewService.extractText(document.getFilePath()).orElse(null));
+        return baseDocument(StoredFileType.DOCUMENT.name(), document.getId(), document.getInternship().getId(),
+                document.getFileName(), content);
+    }
+
+    private Document reportDocument(InternshipReport report) {
+        String content = join(report.getDescription(),
+                documentPreviewService.extractText(report.getFilePath()).orElse(null));
+        return baseDocument(StoredFileType.REPORT.name(), report.getId(), report.getInternship().getId(),
+                report.getTitle(), content);
+    }
+
+    private Document baseDocument(String type, Long id, Long internshipId, String title, String content) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_UID, uid(type, id), Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, type, Field.Store.YES));
+        doc.add(new StoredField(FIELD_ID, id));
+        doc.add(new StringField(FIELD_INTERNSHIP_ID, String.valueOf(internshipId), Field.Store.YES));
+        doc.add(new TextField(FIELD_TITLE, title != null ? title : "", Field.Store.YES));
+        doc.add(new TextField(FIELD_CONTENT, content != null ? content : "", Field.Store.YES));
+        return doc;
+    }
+
+    private Query parseQuery(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                new String[]{FIELD_TITLE, FIELD_CONTENT}, analyzer, Map.of(FIELD_TITLE, 2.0f, FIELD_CONTENT, 1.0f));
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid search query: " + e.getMessage());
+        }
+    }
+
+    private List<String> highlight(Highlighter highlighter, Document doc) throws IOException {
+        try {
+            String content = doc.get(FIELD_CONTENT);
+            String[] fragments = highlighter.getBestFragments(analyzer, FIELD_CONTENT, content, 3);
+            if (fragments.length == 0) {
+                fragments = highlighter.getBestFragments(analyzer, FIELD_TITLE, doc.get(FIELD_TITLE), 1);
+            }
+            return Arrays.asList(fragments);
+        } catch (InvalidTokenOffsetsException e) {
+            logger.warn("Could not highlight search hit: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void update(String type, Long id, Document doc) {
+        try {
+            indexWriter.updateDocument(new Term(FIELD_UID, uid(type, id)), doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + uid(type, id), e);
+        }
+    }
+
+    private void delete(Term term) {
+        try {
+            indexWriter.deleteDocuments(term);
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete from search index", e);
+        }
+    }
+
+    private void commit() {
+        try {
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit search index", e);
+        }
+    }
+
+    private void releaseQuietly(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            logger.warn("Could not release index searcher", e);
+        }
+    }
+
+    private String uid(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private String join(String first, String second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first + "\n" + second;
+    }
+}
@@ -78,11 +78,13 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getUserNotifications(User user) {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications(User user) {
         return notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
     }
@@ -105,6 +107,7 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long getUnreadCount(User user) {
         return notificationRepository.countByUserAndIsReadFalse(user);
     }
@@ -140,6 +143,25 @@ public class NotificationServiceImpl implements NotificationService {
         userIds.forEach(userId -> sendNotification(userId, message, type));
     }
 
+    // Toplu işlemlerde kullanıcılar yüklenmez, referans olarak bağlanır; satırlar Hibernate insert batch'i ile eklenir
+    @Override
+    public void createBulkNotifications(List<Long> userIds, String title, String message, NotificationType type) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        notificationRepository.saveAll(userIds.stream()
+                .map(userId -> Notification.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .title(title)
+                        .message(message)
+                        .type(type)
+                        .isRead(false)
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+
     @Override
     public void notifyAdvisorNewApplication(Long internshipId, Long advisorId) {
         sendNotification(advisorId,
@@ -4,14 +4,19 @@ import com.internship.entity.Internship;
 import com.internship.entity.InternshipReport;
 import com.internship.entity.NotificationType;
 import com.internship.entity.ReportStatus;
+import com.internship.event.FileDeletedEvent;
+import com.internship.event.FileUploadedEvent;
+import com.internship.event.StoredFileType;
 import com.internship.exception.ResourceNotFoundException;
 import com.internship.repository.InternshipReportRepository;
 import com.internship.repository.InternshipRepository;
 import com.internship.service.NotificationService;
 import com.internship.service.ReportService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -35,6 +40,8 @@ public class ReportServiceImpl implements ReportService {
     private final InternshipRepository internshipRepository;
     private final InternshipReportRepository reportRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
     
     private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
 
@@ -84,6 +91,9 @@ public class ReportServiceImpl implements ReportService {
             InternshipReport savedReport = reportRepository.save(report);
             logger.info("Report successfully uploaded and saved with ID: {} for internship ID: {}", savedReport.getId(), internshipId);
 
+            eventPublisher.publishEvent(new FileUploadedEvent(
+                StoredFileType.REPORT, savedReport.getId(), internshipId, filePath));
+
             // Öğrenciye bildirim gönder
             notificationService.sendNotification(
                 internship.getStudent().getId(),
@@ -137,24 +147,28 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InternshipReport> getReportsByInternshipId(Long internshipId) {
         logger.debug("Getting reports for internship ID: {}", internshipId);
         return reportRepository.findByInternshipIdWithInternship(internshipId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InternshipReport> getReportsByInternshipIdAndStatus(Long internshipId, ReportStatus status) {
         logger.debug("Getting reports for internship ID: {} with status: {}", internshipId, status);
         return reportRepository.findByInternshipIdAndStatusWithInternship(internshipId, status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<InternshipReport> getLatestReportByInternshipId(Long internshipId) {
         logger.debug("Getting latest report for internship ID: {}", internshipId);
         return reportRepository.findFirstByInternshipIdOrderByUploadedAtDesc(internshipId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<InternshipReport> getReportById(Long reportId) {
         logger.debug("Getting report by ID: {}", reportId);
         return reportRepository.findByIdWithInternship(reportId);
@@ -169,6 +183,9 @@ public class ReportServiceImpl implements ReportService {
                     logger.error("Report not found with ID: {}", reportId);
                     return new ResourceNotFoundException("Report not found with id: " + reportId);
                 });
+        // Erişim kontrolü için getReportById ile replikadan yüklenen örnek aynı istekte yönetiliyor olabilir;
+        // tüm kolonlar yazılacağı için (ör. arşivlenen dosya yolu) kayıt birincil veritabanından yenilenir
+        entityManager.refresh(report);
         
         report.setStatus(status);
         
@@ -203,26 +220,19 @@ public class ReportServiceImpl implements ReportService {
                     return new ResourceNotFoundException("Report not found with id: " + reportId);
                 });
         
-        try {
-            // Dosyayı sistemden sil
-            Path filePath = Paths.get(report.getFilePath());
-            Files.deleteIfExists(filePath);
-            
-            // Raporu veritabanından sil
-            reportRepository.delete(report);
-            logger.info("Report deleted with ID: {}", reportId);
-            
-            // Bildirim gönder
-            notificationService.sendNotification(
-                report.getInternship().getStudent().getId(),
-                "Raporunuz silindi",
-                NotificationType.STATUS_UPDATE
-            );
-            
-        } catch (IOException e) {
-            logger.error("Failed to delete report file for report ID: {}", reportId, e);
-            throw new RuntimeException("Failed to delete report file: " + e.getMessage());
-        }
+        // Raporu veritabanından sil, dosya commit sonrasında olay dinleyicisinde kaldırılır
+        reportRepository.delete(report);
+        logger.info("Report deleted with ID: {}", reportId);
+
+        eventPublisher.publishEvent(new FileDeletedEvent(
+            StoredFileType.REPORT, reportId, report.getInternship().getId(), report.getFilePath()));
+        
+        // Bildirim gönder
+        notificationService.sendNotification(
+            report.getInternship().getStudent().getId(),
+            "Raporunuz silindi",
+            NotificationType.STATUS_UPDATE
+        );
     }
 
     @Override
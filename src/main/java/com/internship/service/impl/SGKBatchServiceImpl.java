@@ -0,0 +1,317 @@
+package com.internship.service.impl;
+
+import com.internship.dto.SGKBatchCandidate;
+import com.internship.dto.SGKBatchStatus;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.NotificationType;
+import com.internship.entity.SGKDeclaration;
+import com.internship.repository.InternshipRepository;
+import com.internship.repository.SGKDeclarationRepository;
+import com.internship.service.NotificationService;
+import com.internship.service.SGKBatchService;
+import com.internship.service.SGKDeclarationNumberService;
+import com.internship.service.SGKDocumentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Bir dönemde başlayan ve koordinatör onayı almış, bildirimi olmayan tüm stajlar için SGK bildirimi
+ * açar. Adaylar tek sorguyla seçilir, bildirimler parça parça JDBC batch ile eklenir ve her parçanın
+ * belgeleri sınırlı bir havuzda paralel üretilir. Aynı anda tek iş çalışır, ilerleme iş numarasıyla
+ * sorgulanır.
+ */
+@Service
+public class SGKBatchServiceImpl implements SGKBatchService {
+
+    private static final int MAX_ERRORS = 50;
+    private static final int RECENT_JOBS = 20;
+
+    // Tekil oluşturma ile yarışırsa aynı staja ikinci satır eklenmez; kalan yarışı benzersiz indeks yakalar
+    private static final String INSERT_DECLARATION =
+            "INSERT INTO sgk_declarations (internship_id, declaration_number, start_date, end_date, is_active, notes) " +
+            "SELECT ?, ?, ?, ?, TRUE, ? WHERE NOT EXISTS (SELECT 1 FROM sgk_declarations WHERE internship_id = ?)";
+
+    private final InternshipRepository internshipRepository;
+    private final SGKDeclarationRepository sgkDeclarationRepository;
+    private final SGKDocumentService sgkDocumentService;
+    private final SGKDeclarationNumberService sgkDeclarationNumberService;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AsyncTaskExecutor sgkBatchExecutor;
+    private final AsyncTaskExecutor sgkRenderExecutor;
+
+    private final AtomicReference<Job> activeJob = new AtomicReference<>();
+    private final Map<String, Job> recentJobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+            return size() > RECENT_JOBS;
+        }
+    });
+
+    @Value("${app.sgk.batch-size:100}")
+    private int batchSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(SGKBatchServiceImpl.class);
+
+    public SGKBatchServiceImpl(InternshipRepository internshipRepository,
+                               SGKDeclarationRepository sgkDeclarationRepository,
+                               SGKDocumentService sgkDocumentService,
+                               SGKDeclarationNumberService sgkDeclarationNumberService,
+                               NotificationService notificationService,
+                               JdbcTemplate jdbcTemplate,
+                               @Qualifier("sgkBatchExecutor") AsyncTaskExecutor sgkBatchExecutor,
+                               @Qualifier("sgkRenderExecutor") AsyncTaskExecutor sgkRenderExecutor) {
+        this.internshipRepository = internshipRepository;
+        this.sgkDeclarationRepository = sgkDeclarationRepository;
+        this.sgkDocumentService = sgkDocumentService;
+        this.sgkDeclarationNumberService = sgkDeclarationNumberService;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sgkBatchExecutor = sgkBatchExecutor;
+        this.sgkRenderExecutor = sgkRenderExecutor;
+    }
+
+    @Override
+    public SGKBatchStatus startBatch(LocalDate periodStart, LocalDate periodEnd, Long requestedBy) {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Dönem başlangıcı bitişinden sonra olamaz");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), periodStart, periodEnd, requestedBy);
+        Job running = activeJob.compareAndExchange(null, job);
+        if (running != null) {
+            throw new IllegalStateException("SGK batch job " + running.id + " is already " + running.state.get());
+        }
+        // İş hemen başlayıp biterse de durumu sorgulanabilsin diye kuyruğa almadan önce kaydedilir
+        recentJobs.put(job.id, job);
+        try {
+            sgkBatchExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            recentJobs.remove(job.id);
+            activeJob.set(null);
+            throw new IllegalStateException("SGK batch job could not be queued", e);
+        }
+        logger.info("SGK batch job {} queued for internships starting {} - {}", job.id, periodStart, periodEnd);
+        return job.toStatus();
+    }
+
+    @Override
+    public Optional<SGKBatchStatus> getStatus(String jobId) {
+        return Optional.ofNullable(recentJobs.get(jobId)).map(Job::toStatus);
+    }
+
+    @Override
+    public List<SGKBatchStatus> getRecentJobs() {
+        synchronized (recentJobs) {
+            List<SGKBatchStatus> jobs = recentJobs.values().stream().map(Job::toStatus).collect(Collectors.toList());
+            Collections.reverse(jobs);
+            return jobs;
+        }
+    }
+
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.state.set(SGKBatchStatus.State.RUNNING);
+        try {
+            List<SGKBatchCandidate> candidates = internshipRepository.findWithoutDeclaration(
+                    InternshipStatus.COORDINATOR_APPROVED, job.periodStart, job.periodEnd);
+            job.total = candidates.size();
+
+            for (int from = 0; from < candidates.size(); from += batchSize) {
+                processChunk(job, candidates.subList(from, Math.min(from + batchSize, candidates.size())));
+            }
+            job.state.set(SGKBatchStatus.State.COMPLETED);
+        } catch (RuntimeException e) {
+            logger.error("SGK batch job {} failed", job.id, e);
+            job.addError(e.getMessage());
+            job.state.set(SGKBatchStatus.State.FAILED);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            activeJob.set(null);
+            logger.info("SGK batch job {} finished: {}", job.id, job.toStatus());
+        }
+    }
+
+    private void processChunk(Job job, List<SGKBatchCandidate> chunk) {
+        List<String> numbers = sgkDeclarationNumberService.nextNumbers(chunk.size());
+        List<SGKBatchCandidate> created;
+        try {
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_DECLARATION, indices(chunk.size()), chunk.size(),
+                    (ps, i) -> setInsertParameters(ps, chunk.get(i), numbers.get(i)));
+            created = createdFromCounts(chunk, numbers, counts[0]);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("SGK batch job {} raced with another declaration insert, retrying chunk row by row", job.id);
+            created = insertRowByRow(chunk, numbers);
+        }
+        job.created.addAndGet(created.size());
+        job.skipped.addAndGet(chunk.size() - created.size());
+        if (created.isEmpty()) {
+            return;
+        }
+
+        notifyCreated(created);
+        renderAll(job, sgkDeclarationRepository.findWithDetailsByInternshipIdIn(
+                created.stream().map(SGKBatchCandidate::getId).toList()));
+    }
+
+    // Sürücü satır sayısı yerine SUCCESS_NO_INFO dönebilir (örn. yeniden yazılmış batch'ler); o durumda
+    // eklenen satırlar bu işin numaralarından bulunur
+    private List<SGKBatchCandidate> createdFromCounts(List<SGKBatchCandidate> chunk, List<String> numbers, int[] counts) {
+        if (Arrays.stream(counts).anyMatch(count -> count < 0)) {
+            return findCreated(chunk, numbers);
+        }
+        List<SGKBatchCandidate> created = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (counts[i] > 0) {
+                created.add(chunk.get(i));
+            }
+        }
+        return created;
+    }
+
+    // Satırlardan biri benzersiz indekse takıldıysa parça tek tek eklenir; bu işin eklediği satırlar
+    // kendi numaralarından bulunur, sürücü batch'in bir kısmını kaydetmiş olsa bile sayım doğru kalır
+    private List<SGKBatchCandidate> insertRowByRow(List<SGKBatchCandidate> chunk, List<String> numbers) {
+        for (int i = 0; i < chunk.size(); i++) {
+            SGKBatchCandidate candidate = chunk.get(i);
+            String number = numbers.get(i);
+            try {
+                jdbcTemplate.update(INSERT_DECLARATION, ps -> setInsertParameters(ps, candidate, number));
+            } catch (DataIntegrityViolationException duplicate) {
+                logger.debug("SGK declaration for internship {} already exists", candidate.getId());
+            }
+        }
+        return findCreated(chunk, numbers);
+    }
+
+    private List<SGKBatchCandidate> findCreated(List<SGKBatchCandidate> chunk, List<String> numbers) {
+        Set<Long> inserted = new HashSet<>(sgkDeclarationRepository.findInternshipIdsByDeclarationNumberIn(numbers));
+        return chunk.stream().filter(candidate -> inserted.contains(candidate.getId())).toList();
+    }
+
+    private void setInsertParameters(PreparedStatement ps, SGKBatchCandidate candidate, String number) throws SQLException {
+        ps.setLong(1, candidate.getId());
+        ps.setString(2, number);
+        ps.setDate(3, Date.valueOf(candidate.getStartDate()));
+        ps.setDate(4, Date.valueOf(candidate.getEndDate()));
+        ps.setString(5, "SGK bildirimi toplu olarak oluşturuldu");
+        ps.setLong(6, candidate.getId());
+    }
+
+    private List<Integer> indices(int size) {
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    private void notifyCreated(List<SGKBatchCandidate> created) {
+        notificationService.createBulkNotifications(
+                created.stream().map(SGKBatchCandidate::getStudentId).toList(),
+                "SGK Bildirimi", "SGK bildiriminiz oluşturuldu", NotificationType.SYSTEM_NOTIFICATION);
+
+        // Danışman başına tek bildirim
+        created.stream()
+                .filter(candidate -> candidate.getAdvisorId() != null)
+                .collect(Collectors.groupingBy(SGKBatchCandidate::getAdvisorId, Collectors.counting()))
+                .forEach((advisorId, count) -> notificationService.createBulkNotifications(List.of(advisorId),
+                        "SGK Bildirimi", count + " öğrenciniz için SGK bildirimi oluşturuldu", NotificationType.SYSTEM_NOTIFICATION));
+    }
+
+    // Parçanın tüm belgeleri bitmeden sonraki parçaya geçilmez, bellekte en fazla bir parça tutulur
+    private void renderAll(Job job, List<SGKDeclaration> declarations) {
+        CompletableFuture.allOf(declarations.stream()
+                .map(declaration -> CompletableFuture
+                        .runAsync(() -> sgkDocumentService.generate(declaration), sgkRenderExecutor)
+                        .handle((ignored, error) -> {
+                            if (error == null) {
+                                job.rendered.incrementAndGet();
+                            } else {
+                                job.renderFailed.incrementAndGet();
+                                job.addError("Internship " + declaration.getInternship().getId() + ": " + error.getMessage());
+                                logger.warn("SGK document could not be generated for internship {}",
+                                        declaration.getInternship().getId(), error);
+                            }
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static final class Job {
+        private final String id;
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final Long requestedBy;
+        private final LocalDateTime queuedAt = LocalDateTime.now();
+        private final AtomicReference<SGKBatchStatus.State> state = new AtomicReference<>(SGKBatchStatus.State.QUEUED);
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger rendered = new AtomicInteger();
+        private final AtomicInteger renderFailed = new AtomicInteger();
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+        private volatile int total;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, LocalDate periodStart, LocalDate periodEnd, Long requestedBy) {
+            this.id = id;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.requestedBy = requestedBy;
+        }
+
+        private void addError(String error) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        private SGKBatchStatus toStatus() {
+            return SGKBatchStatus.builder()
+                    .jobId(id)
+                    .state(state.get())
+                    .periodStart(periodStart)
+                    .periodEnd(periodEnd)
+                    .requestedBy(requestedBy)
+                    .total(total)
+                    .created(created.get())
+                    .skipped(skipped.get())
+                    .rendered(rendered.get())
+                    .renderFailed(renderFailed.get())
+                    .errors(List.copyOf(errors))
+                    .queuedAt(queuedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.internship.service.impl;
+
+import com.internship.service.SGKDeclarationNumberService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SGK bildirim numaralarını V2 migration'ında tanımlı veritabanı dizisinden üretir. Numara "SGK-yyyy-" öneki, sekiz haneli
+ * sıra numarası ve yıl ile sıra numarası üzerinden hesaplanan Luhn kontrol hanesinden oluşur
+ * (ör. SGK-2026-000000513). Dizi {@value #ALLOCATION_SIZE}'er artar; her çağrı bir blok ayırır ve
+ * blok bellekte tüketilir, bu yüzden birden fazla uygulama örneği aynı numarayı üretmez. Yeniden
+ * başlatmada kullanılmamış numaralar atlanır, numaralar ardışık olmak zorunda değildir.
+ */
+@Service
+@RequiredArgsConstructor
+public class SGKDeclarationNumberServiceImpl implements SGKDeclarationNumberService {
+
+    private static final String SEQUENCE = "sgk_declaration_number_seq";
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Pattern FORMAT = Pattern.compile("SGK-(\\d{4})-(\\d{8})(\\d)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private String nextValueSql;
+    private long next;
+    private long limit;
+
+    @PostConstruct
+    void init() {
+        // H2 ve PostgreSQL farklı sözdizimi kullandığı için sorgu Hibernate dialect'inden alınır
+        nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE);
+    }
+
+    @Override
+    public String nextNumber() {
+        return format(Year.now().getValue(), nextValue());
+    }
+
+    @Override
+    public List<String> nextNumbers(int count) {
+        int year = Year.now().getValue();
+        List<String> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(format(year, nextValue()));
+        }
+        return numbers;
+    }
+
+    @Override
+    public boolean hasInvalidCheckDigit(String declarationNumber) {
+        Matcher matcher = FORMAT.matcher(declarationNumber);
+        return matcher.matches()
+                && checkDigit(matcher.group(1) + matcher.group(2)) != matcher.group(3).charAt(0) - '0';
+    }
+
+    private synchronized long nextValue() {
+        if (next >= limit) {
+            Long blockStart = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            next = blockStart;
+            limit = blockStart + ALLOCATION_SIZE;
+        }
+        return next++;
+    }
+
+    private String format(int year, long value) {
+        String digits = String.format("%04d%08d", year, value);
+        return "SGK-" + digits.substring(0, 4) + "-" + digits.substring(4) + checkDigit(digits);
+    }
+
+    private int checkDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,365 @@
+package com.internship.service.impl;
+
+import com.internship.entity.Internship;
+import com.internship.entity.InternshipType;
+import com.internship.entity.SGKDeclaration;
+import com.internship.entity.User;
+import com.internship.service.SGKDocumentService;
+import jakarta.annotation.PostConstruct;
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SGK bildirim belgesini sabit bir şablon üzerine alan değerlerini yazarak üretir. Başlık, etiketler,
+ * çizgiler ve Türkçe karakterleri kapsayan yazı tipi alt kümesi uygulama açılışında bir kez PDF olarak
+ * derlenip bellekte tutulur. Her belgede şablon açılır, değerler glif numaralarıyla tek bir içerik
+ * akışı olarak eklenir ve artımlı kaydedilir; yazı tipi yeniden işlenmez. Dosya adı alan
+ * değerlerinin özetini içerdiği için girdiler değişmediyse diskteki belge yeniden üretilmeden döner.
+ */
+@Service
+public class SGKDocumentServiceImpl implements SGKDocumentService {
+
+    // Şablonun yerleşimi değişirse artırılır, eski belgeler yeni özetle yeniden üretilir
+    private static final int TEMPLATE_VERSION = 1;
+
+    // Türkçe karakterleri içeren ve PDFBox ile birlikte gelen yazı tipi
+    private static final String FONT_RESOURCE = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+    // Şablona gömülen karakterler; bunların dışındaki karakterler '?' olarak yazılır
+    private static final String EXTRA_CHARACTERS = "ÇĞİÖŞÜçğıöşüÂâÎîÛû€₺°–’“”";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final float MARGIN = 50;
+    private static final float VALUE_X = 230;
+    private static final float FIRST_ROW_Y = 690;
+    private static final float ROW_HEIGHT = 28;
+    private static final float FONT_SIZE = 10;
+
+    private static final List<TemplateField> FIELDS = List.of(
+            new TemplateField("declarationNumber", "Bildirim No"),
+            new TemplateField("status", "Bildirim Durumu"),
+            new TemplateField("studentName", "Öğrenci Adı Soyadı"),
+            new TemplateField("studentEmail", "Öğrenci E-posta"),
+            new TemplateField("studentPhone", "Öğrenci Telefon"),
+            new TemplateField("companyName", "İşyeri Unvanı"),
+            new TemplateField("companyAddress", "İşyeri Adresi"),
+            new TemplateField("companyPhone", "İşyeri Telefonu"),
+            new TemplateField("internshipType", "Staj Türü"),
+            new TemplateField("startDate", "Sigorta Başlangıç Tarihi"),
+            new TemplateField("endDate", "Sigorta Bitiş Tarihi"),
+            new TemplateField("workDays", "Staj Gün Sayısı"),
+            new TemplateField("paid", "Ücretli Staj"),
+            new TemplateField("insuranceSupport", "Sigorta Prim Desteği"),
+            new TemplateField("parentalInsurance", "Ebeveyn Sağlık Sigortası Kapsamında")
+    );
+
+    @Value("${app.sgk.document-dir:uploads/sgk_declarations}")
+    private String documentDir;
+
+    // Açılışta bir kez doldurulur, sonrasında sadece okunur
+    private byte[] template;
+    private String fontName;
+    private Map<Integer, Glyph> glyphs;
+    private Glyph fallbackGlyph;
+
+    private static final Logger logger = LoggerFactory.getLogger(SGKDocumentServiceImpl.class);
+
+    @PostConstruct
+    void compileTemplate() throws IOException {
+        byte[] fontBytes;
+        try (InputStream in = SGKDocumentServiceImpl.class.getResourceAsStream(FONT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Font resource not found: " + FONT_RESOURCE);
+            }
+            fontBytes = in.readAllBytes();
+        }
+
+        // Alt kümeye giren karakterlerin glif numarası ve genişliği, değer yazarken yazı tipini açmamak için
+        StringBuilder characters = new StringBuilder(EXTRA_CHARACTERS);
+        for (char c = 32; c < 127; c++) {
+            characters.append(c);
+        }
+        FIELDS.forEach(field -> characters.append(field.label()));
+        Map<Integer, Glyph> collected = new HashMap<>();
+        try (TrueTypeFont ttf = new TTFParser().parse(new RandomAccessReadBuffer(fontBytes))) {
+            CmapLookup cmap = ttf.getUnicodeCmapLookup();
+            float scale = 1000f / ttf.getUnitsPerEm();
+            for (int codePoint : characters.codePoints().toArray()) {
+                int glyphId = cmap.getGlyphId(codePoint);
+                if (glyphId != 0) {
+                    collected.put(codePoint, new Glyph(glyphId, ttf.getAdvanceWidth(glyphId) * scale));
+                }
+            }
+        }
+        glyphs = Map.copyOf(collected);
+        fallbackGlyph = glyphs.get((int) '?');
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            PDType0Font font = PDType0Font.load(document, new ByteArrayInputStream(fontBytes), true);
+            glyphs.keySet().forEach(font::addToSubset);
+
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                writeText(content, font, 14, MARGIN, 780, "SOSYAL GÜVENLİK KURUMU");
+                writeText(content, font, 12, MARGIN, 760, "Stajyer Öğrenci Sigorta Giriş Bildirimi");
+                writeText(content, font, 9, MARGIN, 742, "5510 sayılı Kanun 5/b maddesi kapsamında düzenlenmiştir.");
+
+                content.setLineWidth(0.5f);
+                drawLine(content, FIRST_ROW_Y + ROW_HEIGHT - 8);
+                for (int i = 0; i < FIELDS.size(); i++) {
+                    float y = rowY(i);
+                    writeText(content, font, FONT_SIZE, MARGIN, y, FIELDS.get(i).label() + ":");
+                    drawLine(content, y - 8);
+                }
+
+                float signatureY = rowY(FIELDS.size()) - 30;
+                writeText(content, font, FONT_SIZE, MARGIN, signatureY, "Üniversite Koordinatörü");
+                writeText(content, font, FONT_SIZE, 360, signatureY, "İşveren / Yetkili");
+                writeText(content, font, FONT_SIZE, MARGIN, signatureY - 40, "İmza:");
+                writeText(content, font, FONT_SIZE, 360, signatureY - 40, "İmza / Kaşe:");
+            }
+            fontName = page.getResources().getFontNames().iterator().next().getName();
+
+            PDDocumentInformation info = document.getDocumentInformation();
+            info.setTitle("SGK Stajyer Öğrenci Sigorta Giriş Bildirimi");
+            info.setCreator("Internship Tracking System");
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            template = out.toByteArray();
+        }
+        logger.info("SGK declaration template compiled ({} bytes, {} glyphs)", template.length, glyphs.size());
+    }
+
+    @Override
+    public String generate(SGKDeclaration declaration) {
+        Internship internship = declaration.getInternship();
+        Map<String, String> values = collectValues(declaration, internship);
+        String fingerprint = fingerprint(values);
+
+        Path directory = Paths.get(documentDir);
+        Path target = directory.resolve(prefix(internship.getId()) + fingerprint + ".pdf");
+        if (Files.exists(target)) {
+            logger.debug("SGK declaration document for internship {} is up to date: {}", internship.getId(), target);
+            return target.toString();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try {
+                try (PDDocument document = Loader.loadPDF(template);
+                     OutputStream out = Files.newOutputStream(temp)) {
+                    fill(document, values);
+                    document.saveIncremental(out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            deleteOtherVersions(internship.getId(), target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate SGK declaration document for internship " + internship.getId(), e);
+        }
+        logger.debug("SGK declaration document generated in {} ms: {}",
+                String.format("%.2f", (System.nanoTime() - start) / 1_000_000.0), target);
+        return target.toString();
+    }
+
+    @Override
+    public void deleteDocuments(Long internshipId) {
+        deleteOtherVersions(internshipId, null);
+    }
+
+    // Şablondaki yazı tipi alt kümesi kimlik (Identity-H) kodlamalı olduğu için değerler glif numarasıyla yazılır
+    private void fill(PDDocument document, Map<String, String> values) throws IOException {
+        PDPage page = document.getPage(0);
+        float maxWidth = page.getMediaBox().getWidth() - MARGIN - VALUE_X;
+
+        StringBuilder operators = new StringBuilder(2048);
+        for (int i = 0; i < FIELDS.size(); i++) {
+            operators.append("BT /").append(fontName).append(' ').append(FONT_SIZE).append(" Tf ")
+                    .append(VALUE_X).append(' ').append(rowY(i)).append(" Td <");
+            for (Glyph glyph : fit(values.get(FIELDS.get(i).key()), maxWidth)) {
+                int id = glyph.id();
+                operators.append(HEX[(id >> 12) & 0xF]).append(HEX[(id >> 8) & 0xF]).append(HEX[(id >> 4) & 0xF]).append(HEX[id & 0xF]);
+            }
+            operators.append("> Tj ET\n");
+        }
+
+        PDStream stream = new PDStream(document);
+        try (OutputStream out = stream.createOutputStream(COSName.FLATE_DECODE)) {
+            out.write(operators.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+        COSArray contents = new COSArray();
+        COSBase existing = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+        if (existing instanceof COSArray array) {
+            contents.addAll(array);
+        } else {
+            contents.add(page.getCOSObject().getItem(COSName.CONTENTS));
+        }
+        contents.add(stream);
+        page.getCOSObject().setItem(COSName.CONTENTS, contents);
+        page.getCOSObject().setNeedToBeUpdated(true);
+    }
+
+    private Map<String, String> collectValues(SGKDeclaration declaration, Internship internship) {
+        User student = internship.getStudent();
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("declarationNumber", declaration.getDeclarationNumber());
+        values.put("status", Boolean.TRUE.equals(declaration.getIsActive()) ? "Aktif" : "Pasif");
+        values.put("studentName", student.getFirstName() + " " + student.getLastName());
+        values.put("studentEmail", student.getEmail());
+        values.put("studentPhone", text(student.getPhoneNumber()));
+        values.put("companyName", internship.getCompanyName());
+        values.put("companyAddress", internship.getCompanyAddress());
+        values.put("companyPhone", internship.getCompanyPhone());
+        values.put("internshipType", internship.getType() == InternshipType.MANDATORY ? "Zorunlu" : "İsteğe Bağlı");
+        values.put("startDate", declaration.getStartDate().format(DATE_FORMAT));
+        values.put("endDate", declaration.getEndDate().format(DATE_FORMAT));
+        values.put("workDays", String.valueOf(internship.getWorkDays()));
+        values.put("paid", yesNo(internship.getIsPaid()));
+        values.put("insuranceSupport", yesNo(internship.getInsuranceSupport()));
+        values.put("parentalInsurance", yesNo(internship.getParentalInsuranceCoverage()));
+        return values;
+    }
+
+    private String fingerprint(Map<String, String> values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(("v" + TEMPLATE_VERSION).getBytes(StandardCharsets.UTF_8));
+            values.forEach((key, value) -> {
+                digest.update((byte) 0);
+                digest.update(key.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '=');
+                digest.update(text(value).getBytes(StandardCharsets.UTF_8));
+            });
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Aynı staj için daha önce üretilmiş, artık güncel olmayan belgeler silinir
+    private void deleteOtherVersions(Long internshipId, Path keep) {
+        Path directory = Paths.get(documentDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix(internshipId) + "*.pdf")) {
+            for (Path path : stream) {
+                if (!path.equals(keep)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not clean up old SGK declaration documents for internship {}", internshipId, e);
+        }
+    }
+
+    private String prefix(Long internshipId) {
+        return "sgk_" + internshipId + "_";
+    }
+
+    // Şablondaki alt kümede olmayan karakterler '?' ile değiştirilir, sığmayan değerler satır sonunda kısaltılır
+    private List<Glyph> fit(String value, float maxWidth) {
+        List<Glyph> line = new ArrayList<>();
+        float total = 0;
+        for (int codePoint : text(value).replaceAll("\\s+", " ").codePoints().toArray()) {
+            Glyph glyph = glyphs.getOrDefault(codePoint, fallbackGlyph);
+            line.add(glyph);
+            total += glyph.width();
+        }
+        float limit = maxWidth * 1000 / FONT_SIZE;
+        if (total <= limit) {
+            return line;
+        }
+
+        Glyph dot = glyphs.get((int) '.');
+        float width = 3 * dot.width();
+        int length = 0;
+        while (width + line.get(length).width() <= limit) {
+            width += line.get(length++).width();
+        }
+        List<Glyph> truncated = new ArrayList<>(line.subList(0, length));
+        truncated.addAll(List.of(dot, dot, dot));
+        return truncated;
+    }
+
+    private void writeText(PDPageContentStream content, PDFont font, float size, float x, float y, String text) throws IOException {
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(text);
+        content.endText();
+    }
+
+    private void drawLine(PDPageContentStream content, float y) throws IOException {
+        content.moveTo(MARGIN, y);
+        content.lineTo(PDRectangle.A4.getWidth() - MARGIN, y);
+        content.stroke();
+    }
+
+    private float rowY(int index) {
+        return FIRST_ROW_Y - index * ROW_HEIGHT;
+    }
+
+    private String yesNo(Boolean value) {
+        return Boolean.TRUE.equals(value) ? "Evet" : "Hayır";
+    }
+
+    private String text(String value) {
+        return value == null ? "-" : value;
+    }
+
+    private record TemplateField(String key, String label) {
+    }
+
+    private record Glyph(int id, float width) {
+    }
+}
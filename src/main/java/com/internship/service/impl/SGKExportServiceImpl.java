@@ -0,0 +1,199 @@
+package com.internship.service.impl;
+
+import com.internship.dto.SGKExportFormat;
+import com.internship.dto.SGKExportRow;
+import com.internship.entity.InternshipType;
+import com.internship.repository.SGKDeclarationRepository;
+import com.internship.service.SGKExportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Aktif SGK bildirimlerini toplu bildirge dosyası olarak yazar. Satırlar ileri yönlü bir imleçten
+ * okunup doğrudan yanıta yazılır, bellekte sadece o anki satır tutulur. Bağlantı akış boyunca açık
+ * kalır.
+ *
+ * <p>Sabit uzunluklu biçimde her satır {@value #RECORD_LENGTH} karakterdir, ISO-8859-9 ile kodlanır
+ * ve CRLF ile biter. Alanlar sola dayalı ve boşlukla, sayılar sağa dayalı ve sıfırla doldurulur.
+ * <pre>
+ * H  kayıt tipi(1) dönem başı(8) dönem sonu(8) oluşturma zamanı(14)
+ * D  kayıt tipi(1) bildirim no(20) soyad(30) ad(30) başlangıç(8) bitiş(8) gün(3)
+ *    staj türü Z/I(1) ücretli E/H(1) işyeri unvanı(60) işyeri telefonu(15) e-posta(50)
+ * T  kayıt tipi(1) kayıt sayısı(9)
+ * </pre>
+ * XML biçimi {@code sgk/sgk-bulk-export.xsd} şemasına uyar.
+ */
+@Service
+@RequiredArgsConstructor
+public class SGKExportServiceImpl implements SGKExportService {
+
+    public static final String XML_NAMESPACE = "urn:internship-tracking:sgk-bulk-export:1";
+
+    private static final int RECORD_LENGTH = 227;
+    private static final int FLUSH_EVERY = 200;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final SGKDeclarationRepository sgkDeclarationRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(SGKExportServiceImpl.class);
+
+    @Override
+    @Transactional(readOnly = true)
+    public int export(LocalDate from, LocalDate to, SGKExportFormat format, OutputStream out) throws IOException {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+        long start = System.currentTimeMillis();
+        int count;
+        try (Stream<SGKExportRow> rows = sgkDeclarationRepository.streamActiveForExport(from, to)) {
+            count = format == SGKExportFormat.XML
+                    ? writeXml(from, to, rows.iterator(), out)
+                    : writeFixedWidth(from, to, rows.iterator(), out);
+        }
+        logger.info("SGK export ({}) for {} - {} wrote {} records in {} ms",
+                format, from, to, count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private int writeFixedWidth(LocalDate from, LocalDate to, Iterator<SGKExportRow> rows, OutputStream out) throws IOException {
+        // Türkçe karakter tabanlı kodlamada olmayan karakterler '?' olarak yazılır
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, FIXED_WIDTH_CHARSET));
+        StringBuilder record = new StringBuilder(RECORD_LENGTH);
+
+        record.append('H').append(from.format(DATE)).append(to.format(DATE)).append(LocalDateTime.now().format(TIMESTAMP));
+        writeRecord(writer, record);
+
+        int count = 0;
+        while (rows.hasNext()) {
+            SGKExportRow row = rows.next();
+            record.append('D');
+            text(record, row.getDeclarationNumber(), 20);
+            text(record, row.getLastName(), 30);
+            text(record, row.getFirstName(), 30);
+            record.append(row.getStartDate().format(DATE)).append(row.getEndDate().format(DATE));
+            number(record, row.getWorkDays(), 3);
+            record.append(row.getType() == InternshipType.MANDATORY ? 'Z' : 'I');
+            record.append(Boolean.TRUE.equals(row.getPaid()) ? 'E' : 'H');
+            text(record, row.getCompanyName(), 60);
+            text(record, row.getCompanyPhone(), 15);
+            text(record, row.getEmail(), 50);
+            writeRecord(writer, record);
+
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+
+        record.append('T');
+        number(record, count, 9);
+        writeRecord(writer, record);
+        writer.flush();
+        return count;
+    }
+
+    private int writeXml(LocalDate from, LocalDate to, Iterator<SGKExportRow> rows, OutputStream out) throws IOException {
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement("sgkBildirge");
+            xml.writeDefaultNamespace(XML_NAMESPACE);
+            xml.writeAttribute("donemBaslangic", from.toString());
+            xml.writeAttribute("donemBitis", to.toString());
+            xml.writeAttribute("olusturmaZamani", LocalDateTime.now().withNano(0).toString());
+
+            int count = 0;
+            while (rows.hasNext()) {
+                SGKExportRow row = rows.next();
+                xml.writeStartElement("sigortali");
+                xml.writeAttribute("bildirimNo", row.getDeclarationNumber());
+                element(xml, "ad", row.getFirstName());
+                element(xml, "soyad", row.getLastName());
+                element(xml, "eposta", row.getEmail());
+                if (row.getPhoneNumber() != null) {
+                    element(xml, "telefon", row.getPhoneNumber());
+                }
+                element(xml, "baslangicTarihi", row.getStartDate().toString());
+                element(xml, "bitisTarihi", row.getEndDate().toString());
+                element(xml, "gunSayisi", String.valueOf(row.getWorkDays()));
+                element(xml, "stajTuru", row.getType() == InternshipType.MANDATORY ? "ZORUNLU" : "ISTEGE_BAGLI");
+                element(xml, "ucretli", String.valueOf(Boolean.TRUE.equals(row.getPaid())));
+                xml.writeStartElement("isyeri");
+                element(xml, "unvan", row.getCompanyName());
+                element(xml, "adres", row.getCompanyAddress());
+                element(xml, "telefon", row.getCompanyPhone());
+                xml.writeEndElement();
+                xml.writeEndElement();
+
+                if (++count % FLUSH_EVERY == 0) {
+                    xml.flush();
+                }
+            }
+
+            xml.writeEmptyElement("ozet");
+            xml.writeAttribute("kayitSayisi", String.valueOf(count));
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+            return count;
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write SGK export XML", e);
+        }
+    }
+
+    private void element(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value == null ? "" : value);
+        xml.writeEndElement();
+    }
+
+    private void writeRecord(Writer writer, StringBuilder record) throws IOException {
+        while (record.length() < RECORD_LENGTH) {
+            record.append(' ');
+        }
+        writer.append(record).append("\r\n");
+        record.setLength(0);
+    }
+
+    // Satır sonu ve kontrol karakterleri kayıt düzenini bozmasın diye boşluğa çevrilir
+    private void text(StringBuilder record, String value, int width) {
+        String text = value == null ? "" : value.strip();
+        int length = Math.min(text.length(), width);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            record.append(Character.isISOControl(c) ? ' ' : c);
+        }
+        for (int i = length; i < width; i++) {
+            record.append(' ');
+        }
+    }
+
+    private void number(StringBuilder record, Integer value, int width) {
+        String digits = String.valueOf(value == null ? 0 : Math.max(0, value));
+        if (digits.length() > width) {
+            digits = "9".repeat(width);
+        }
+        for (int i = digits.length(); i < width; i++) {
+            record.append('0');
+        }
+        record.append(digits);
+    }
+}
@@ -1,5 +1,6 @@
 package com.internship.service.impl;
 
+import com.internship.dto.SGKDeclarationCreation;
 import com.internship.entity.Internship;
 import com.internship.entity.NotificationType;
 import com.internship.entity.SGKDeclaration;
@@ -7,6 +8,8 @@ import com.internship.exception.ResourceNotFoundException;
 import com.internship.repository.InternshipRepository;
 import com.internship.repository.SGKDeclarationRepository;
 import com.internship.service.NotificationService;
+import com.internship.service.SGKDeclarationNumberService;
+import com.internship.service.SGKDocumentService;
 import com.internship.service.SGKService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -16,7 +19,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -26,30 +28,33 @@ public class SGKServiceImpl implements SGKService {
     private final SGKDeclarationRepository sgkDeclarationRepository;
     private final InternshipRepository internshipRepository;
     private final NotificationService notificationService;
+    private final SGKDocumentService sgkDocumentService;
+    private final SGKDeclarationNumberService sgkDeclarationNumberService;
     
     private static final Logger logger = LoggerFactory.getLogger(SGKServiceImpl.class);
 
     @Override
-    public SGKDeclaration createDeclaration(Long internshipId, String declarationNumber) {
-        logger.info("Creating SGK declaration for internship ID: {} with number: {}", internshipId, declarationNumber);
+    public SGKDeclarationCreation createDeclaration(Long internshipId) {
+        logger.info("Creating SGK declaration for internship ID: {}", internshipId);
         
-        // Staj kaydını al
-        Internship internship = internshipRepository.findById(internshipId)
+        // Staj satırı kilitlenir, aynı staj için eşzamanlı istekler kontrolü sırayla yapar
+        Internship internship = internshipRepository.findByIdForUpdate(internshipId)
                 .orElseThrow(() -> {
                     logger.error("Internship not found with ID: {}", internshipId);
                     return new ResourceNotFoundException("Internship not found with id: " + internshipId);
                 });
         
-        // Daha önce SGK bildirimi var mı kontrol et
-        if (sgkDeclarationRepository.existsByInternshipId(internshipId)) {
-            logger.warn("SGK declaration already exists for internship ID: {}", internshipId);
-            throw new IllegalStateException("SGK declaration already exists for this internship");
+        // Daha önce SGK bildirimi varsa aynısı döner
+        Optional<SGKDeclaration> existing = sgkDeclarationRepository.findByInternshipId(internshipId);
+        if (existing.isPresent()) {
+            logger.info("SGK declaration already exists for internship ID: {}, returning it", internshipId);
+            return new SGKDeclarationCreation(existing.get(), false);
         }
         
         // SGK bildirimi oluştur
         SGKDeclaration declaration = SGKDeclaration.builder()
                 .internship(internship)
-                .declarationNumber(declarationNumber)
+                .declarationNumber(sgkDeclarationNumberService.nextNumber())
                 .startDate(internship.getStartDate())
                 .endDate(internship.getEndDate())
                 .isActive(true)
@@ -57,7 +62,8 @@ public class SGKServiceImpl implements SGKService {
                 .build();
         
         SGKDeclaration savedDeclaration = sgkDeclarationRepository.save(declaration);
-        logger.info("SGK declaration created with ID: {} for internship ID: {}", savedDeclaration.getId(), internshipId);
+        logger.info("SGK declaration {} created with ID: {} for internship ID: {}",
+                savedDeclaration.getDeclarationNumber(), savedDeclaration.getId(), internshipId);
         
         // Öğrenciye bildirim gönder
         notificationService.sendNotification(
@@ -75,9 +81,10 @@ public class SGKServiceImpl implements SGKService {
             );
         }
         
-        return savedDeclaration;
+        return new SGKDeclarationCreation(savedDeclaration, true);
     }
 
+    // readOnly değil: eşzamanlı oluşturma çakışmasında az önce eklenen satır okunur, replikada henüz olmayabilir
     @Override
     public Optional<SGKDeclaration> getDeclarationByInternshipId(Long internshipId) {
         logger.debug("Getting SGK declaration for internship ID: {}", internshipId);
@@ -85,8 +92,13 @@ public class SGKServiceImpl implements SGKService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<SGKDeclaration> getDeclarationByNumber(String declarationNumber) {
         logger.debug("Getting SGK declaration by number: {}", declarationNumber);
+        // Kontrol hanesi tutmayan numara için veritabanına gidilmez
+        if (sgkDeclarationNumberService.hasInvalidCheckDigit(declarationNumber)) {
+            return Optional.empty();
+        }
         return sgkDeclarationRepository.findByDeclarationNumber(declarationNumber);
     }
 
@@ -129,6 +141,7 @@ public class SGKServiceImpl implements SGKService {
         }
         
         sgkDeclarationRepository.deleteByInternshipId(internshipId);
+        sgkDocumentService.deleteDocuments(internshipId);
         logger.info("SGK declaration deleted for internship ID: {}", internshipId);
     }
 
@@ -136,11 +149,10 @@ public class SGKServiceImpl implements SGKService {
     public String generateDeclarationDocument(Long internshipId) {
         logger.info("Generating SGK declaration document for internship ID: {}", internshipId);
         
-        Internship internship = internshipRepository.findById(internshipId)
-                .orElseThrow(() -> {
-                    logger.error("Internship not found with ID: {}", internshipId);
-                    return new ResourceNotFoundException("Internship not found with id: " + internshipId);
-                });
+        if (!internshipRepository.existsById(internshipId)) {
+            logger.error("Internship not found with ID: {}", internshipId);
+            throw new ResourceNotFoundException("Internship not found with id: " + internshipId);
+        }
         
         SGKDeclaration declaration = sgkDeclarationRepository.findByInternshipId(internshipId)
                 .orElseThrow(() -> {
@@ -148,10 +160,8 @@ public class SGKServiceImpl implements SGKService {
                     return new ResourceNotFoundException("SGK declaration not found for internship with id: " + internshipId);
                 });
         
-        // Burada gerçek bir PDF oluşturma işlemi yapılabilir
-        // Şimdilik sadece rastgele bir dosya adı döndürelim
-        String documentPath = "uploads/sgk_declarations/sgk_" + internshipId + "_" + UUID.randomUUID() + ".pdf";
-        logger.info("SGK declaration document generated at path: {}", documentPath);
+        String documentPath = sgkDocumentService.generate(declaration);
+        logger.info("SGK declaration document for internship ID: {} is at path: {}", internshipId, documentPath);
         
         return documentPath;
     }
@@ -0,0 +1,185 @@
+package com.internship.service.impl;
+
+import com.internship.dto.ApprovalCandidate;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.NotificationType;
+import com.internship.repository.InternshipRepository;
+import com.internship.repository.UserRepository;
+import com.internship.service.NotificationService;
+import com.internship.service.SlaEscalationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bir onay aşamasında eşik süresinden uzun bekleyen stajları bulup bir üst role bildirir.
+ * Danışman aşamasındaki gecikmeler danışmana hatırlatılır ve bölüm koordinatörlerine, danışman
+ * onayından sonraki gecikmeler üniversite koordinatörlerine iletilir. Her staj bulunduğu durumda
+ * bir kez bildirilir; durum değişince işaret sıfırlanır.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlaEscalationServiceImpl implements SlaEscalationService {
+
+    private static final String DEPARTMENT_COORDINATOR = "ROLE_DEPARTMENT_COORDINATOR";
+    private static final String UNIVERSITY_COORDINATOR = "ROLE_UNIVERSITY_COORDINATOR";
+
+    private final InternshipRepository internshipRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<InternshipStatus, AtomicLong> overdueCounts = new EnumMap<>(InternshipStatus.class);
+
+    @Value("${app.sla.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sla.pending-age:P7D}")
+    private Duration pendingAge;
+
+    @Value("${app.sla.pending-advisor-approval-age:P7D}")
+    private Duration pendingAdvisorApprovalAge;
+
+    @Value("${app.sla.advisor-approved-age:P5D}")
+    private Duration advisorApprovedAge;
+
+    @Value("${app.sla.batch-size:200}")
+    private int batchSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(SlaEscalationServiceImpl.class);
+
+    @PostConstruct
+    void registerGauges() {
+        for (InternshipStatus stage : thresholds().keySet()) {
+            AtomicLong count = overdueCounts.computeIfAbsent(stage, key -> new AtomicLong());
+            Gauge.builder("internship.sla.overdue", count, AtomicLong::get)
+                    .description("Internships waiting longer than the SLA threshold in a stage")
+                    .tag("stage", stage.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sla.interval:PT1H}", initialDelayString = "${app.sla.initial-delay:PT2M}")
+    public void scheduledEscalation() {
+        if (enabled) {
+            escalateOverdue();
+        }
+    }
+
+    @Override
+    public synchronized Map<String, Object> escalateOverdue() {
+        long start = System.currentTimeMillis();
+        // Sütun hassasiyetine yuvarlanır: işaretlenen satırlar bu değerle eşitlik üzerinden geri okunur
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, Object> escalated = new LinkedHashMap<>();
+
+        thresholds().forEach((stage, maxAge) -> {
+            LocalDateTime changedBefore = now.minus(maxAge);
+            overdueCounts.get(stage).set(internshipRepository.countByStatusAndStatusChangedAtBefore(stage, changedBefore));
+            escalated.put(stage.name(), escalateStage(stage, maxAge, changedBefore, now));
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("escalated", escalated);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        logger.info("SLA escalation finished: {}", result);
+        return result;
+    }
+
+    private int escalateStage(InternshipStatus stage, Duration maxAge, LocalDateTime changedBefore, LocalDateTime now) {
+        String escalationRole = stage == InternshipStatus.ADVISOR_APPROVED ? UNIVERSITY_COORDINATOR : DEPARTMENT_COORDINATOR;
+        List<Long> coordinatorIds = userRepository.findIdsByRoleName(escalationRole);
+        Counter counter = Counter.builder("internship.sla.escalations")
+                .description("Internships escalated for exceeding the SLA threshold")
+                .tag("stage", stage.name())
+                .register(meterRegistry);
+
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            List<ApprovalCandidate> page = internshipRepository.findOverdue(stage, changedBefore, afterId, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                return total;
+            }
+            afterId = page.get(page.size() - 1).getId();
+
+            // İşaret ve bildirimler aynı işlemde yazılır; bildirim başarısız olursa işaret de geri alınır
+            // ve staj sonraki çalıştırmada yeniden ele alınır
+            int escalatedCount = transactionTemplate.execute(status -> escalatePage(stage, maxAge, page, now, coordinatorIds));
+            counter.increment(escalatedCount);
+            total += escalatedCount;
+        }
+    }
+
+    private int escalatePage(InternshipStatus stage, Duration maxAge, List<ApprovalCandidate> page, LocalDateTime now,
+                             List<Long> coordinatorIds) {
+        List<Long> ids = page.stream().map(ApprovalCandidate::getId).toList();
+        if (internshipRepository.markEscalated(ids, stage, now) == 0) {
+            return 0;
+        }
+        // Sadece bu çalıştırmanın işaretlediği stajlar bildirilir
+        Set<Long> marked = new HashSet<>(internshipRepository.findIdsEscalatedAt(ids, now));
+        List<ApprovalCandidate> escalatedPage = page.stream().filter(candidate -> marked.contains(candidate.getId())).toList();
+        if (!escalatedPage.isEmpty()) {
+            notifyPage(stage, maxAge, escalatedPage, coordinatorIds);
+        }
+        return escalatedPage.size();
+    }
+
+    // Sayfa başına kullanıcı başına tek bildirim gönderilir, staj numaraları mesajda listelenir
+    private void notifyPage(InternshipStatus stage, Duration maxAge, List<ApprovalCandidate> page, List<Long> coordinatorIds) {
+        String title = "Approval Overdue: " + stage;
+        String suffix = " waiting in " + stage + " for more than " + describe(maxAge) + ": ";
+
+        if (!coordinatorIds.isEmpty()) {
+            notificationService.createBulkNotifications(coordinatorIds, title,
+                    page.size() + " internship(s)" + suffix + ids(page), NotificationType.STATUS_UPDATE);
+        }
+
+        if (stage != InternshipStatus.ADVISOR_APPROVED) {
+            page.stream()
+                    .filter(candidate -> candidate.getAdvisorId() != null)
+                    .collect(Collectors.groupingBy(ApprovalCandidate::getAdvisorId))
+                    .forEach((advisorId, assigned) -> notificationService.createBulkNotifications(List.of(advisorId), title,
+                            assigned.size() + " of your internship(s)" + suffix + ids(assigned), NotificationType.STATUS_UPDATE));
+        }
+    }
+
+    private String describe(Duration duration) {
+        return duration.toDays() > 0 ? duration.toDays() + " days" : duration.toHours() + " hours";
+    }
+
+    private String ids(List<ApprovalCandidate> candidates) {
+        return candidates.stream().map(candidate -> "#" + candidate.getId()).collect(Collectors.joining(", "));
+    }
+
+    private Map<InternshipStatus, Duration> thresholds() {
+        Map<InternshipStatus, Duration> thresholds = new EnumMap<>(InternshipStatus.class);
+        thresholds.put(InternshipStatus.PENDING, pendingAge);
+        thresholds.put(InternshipStatus.PENDING_ADVISOR_APPROVAL, pendingAdvisorApprovalAge);
+        thresholds.put(InternshipStatus.ADVISOR_APPROVED, advisorApprovedAge);
+        return thresholds;
+    }
+}
@@ -0,0 +1,305 @@
+package com.internship.service.impl;
+
+import com.internship.dto.ReconciliationReport;
+import com.internship.dto.StoredFileRef;
+import com.internship.event.FileDeletedEvent;
+import com.internship.event.StoredFileType;
+import com.internship.repository.DocumentRepository;
+import com.internship.repository.InternshipReportRepository;
+import com.internship.service.StorageReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Yükleme ve arşiv dizinleri ile documents / internship_reports tablolarını parça parça karşılaştırır.
+ * Her çalıştırmada sınırlı sayıda internship_&lt;id&gt; dizini ve id sırasına göre bir kayıt grubu
+ * işlenir, imleçler bir sonraki çalıştırmada kaldığı yerden devam eder.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageReconciliationServiceImpl implements StorageReconciliationService {
+
+    // Yükleme servisleri de dosyaları bu kök altına yazar
+    private static final String UPLOAD_ROOT = "uploads";
+    private static final Pattern INTERNSHIP_DIR = Pattern.compile("internship_(\\d+)");
+    private static final List<String> SIDECAR_SUFFIXES = List.of(
+            ".tmp", DocumentPreviewServiceImpl.PREVIEW_SUFFIX, DocumentPreviewServiceImpl.METADATA_SUFFIX);
+
+    private final DocumentRepository documentRepository;
+    private final InternshipReportRepository reportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.tiering.archive-dir:archive}")
+    private String archiveDir;
+
+    @Value("${app.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reconcile.directories-per-run:20}")
+    private int directoriesPerRun;
+
+    @Value("${app.reconcile.batch-size:200}")
+    private int batchSize;
+
+    // Commit edilmemiş yüklemelerle yarışmamak için yeni dosyalara dokunulmaz
+    @Value("${app.reconcile.grace-period:PT1H}")
+    private Duration gracePeriod;
+
+    // Dosyası olmayan kayıtlar varsayılan olarak sadece raporlanır
+    @Value("${app.reconcile.delete-dangling-rows:false}")
+    private boolean deleteDanglingRows;
+
+    private final Map<String, Long> directoryCursors = new HashMap<>();
+    private long documentCursor;
+    private long reportCursor;
+    private volatile ReconciliationReport lastReport;
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageReconciliationServiceImpl.class);
+
+    @Scheduled(fixedDelayString = "${app.reconcile.interval:PT10M}", initialDelayString = "${app.reconcile.initial-delay:PT5M}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcileNextBatch();
+        }
+    }
+
+    // Silinen kaydın dosyası commit sonrasında kaldırılır; başarısız olursa mutabakat işi toplar
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileDeleted(FileDeletedEvent event) {
+        try {
+            Files.deleteIfExists(Paths.get(event.getFilePath()));
+        } catch (IOException e) {
+            logger.warn("Could not delete file {}, it will be collected by reconciliation", event.getFilePath(), e);
+        }
+    }
+
+    @Override
+    public synchronized ReconciliationReport reconcileNextBatch() {
+        ReconciliationReport report = ReconciliationReport.builder()
+                .startedAt(LocalDateTime.now())
+                .danglingRowsRemoved(deleteDanglingRows)
+                .build();
+
+        Path root = Paths.get(UPLOAD_ROOT);
+        if (!Files.isDirectory(root)) {
+            // Disk bağlı değilken tüm kayıtları dosyasız saymamak için hiçbir şey yapılmaz
+            logger.warn("Upload root {} not found, skipping reconciliation", root.toAbsolutePath());
+        } else {
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            for (Path tierRoot : List.of(root, Paths.get(archiveDir))) {
+                if (!Files.isDirectory(tierRoot)) {
+                    continue;
+                }
+                try {
+                    reconcileDirectories(tierRoot, cutoff, report);
+                } catch (IOException e) {
+                    logger.error("Failed to scan directories under {}", tierRoot, e);
+                }
+            }
+            reconcileDocuments(cutoff, report);
+            reconcileReports(cutoff, report);
+        }
+
+        report.setDirectoryCursors(new HashMap<>(directoryCursors));
+        report.setDocumentCursor(documentCursor);
+        report.setReportCursor(reportCursor);
+        report.setFinishedAt(LocalDateTime.now());
+        lastReport = report;
+
+        logger.info("Storage reconciliation: {} directories, {} files scanned, {} orphan files removed, " +
+                        "{} dangling documents, {} dangling reports",
+                report.getScannedDirectories(), report.getScannedFiles(), report.getRemovedFiles().size(),
+                report.getDanglingDocumentIds().size(), report.getDanglingReportIds().size());
+        return report;
+    }
+
+    @Override
+    public Optional<ReconciliationReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private void reconcileDirectories(Path root, Instant cutoff, ReconciliationReport report) throws IOException {
+        String cursorKey = root.toString();
+        long directoryCursor = directoryCursors.getOrDefault(cursorKey, 0L);
+        List<Long> internshipIds;
+        try (Stream<Path> entries = Files.list(root)) {
+            internshipIds = entries
+                    .filter(Files::isDirectory)
+                    .map(path -> INTERNSHIP_DIR.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.valueOf(matcher.group(1)))
+                    .filter(id -> id > directoryCursor)
+                    .sorted()
+                    .limit(directoriesPerRun)
+                    .toList();
+        }
+
+        for (Long internshipId : internshipIds) {
+            reconcileDirectory(root.resolve("internship_" + internshipId), internshipId, cutoff, report);
+            report.setScannedDirectories(report.getScannedDirectories() + 1);
+        }
+
+        // Son dizine ulaşıldıysa bir sonraki çalıştırma baştan başlar
+        directoryCursors.put(cursorKey,
+                internshipIds.size() < directoriesPerRun ? 0 : internshipIds.get(internshipIds.size() - 1));
+    }
+
+    private void reconcileDirectory(Path directory, Long internshipId, Instant cutoff, ReconciliationReport report) throws IOException {
+        Set<Path> tracked = new HashSet<>();
+        documentRepository.findFilePathsByInternshipId(internshipId).forEach(path -> tracked.add(normalize(path)));
+        reportRepository.findFilePathsByInternshipId(internshipId).forEach(path -> tracked.add(normalize(path)));
+
+        // Dizin yaşları dosya silinmeden önce alınır, silme işlemi dizinin zamanını değiştirir
+        List<Path> files = new ArrayList<>();
+        List<Path> oldDirectories = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.forEach(path -> {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                } else if (Files.isDirectory(path) && isOlderThan(path, cutoff)) {
+                    oldDirectories.add(path);
+                }
+            });
+        }
+        files.sort(Comparator.naturalOrder());
+
+        for (Path file : files) {
+            report.setScannedFiles(report.getScannedFiles() + 1);
+            if (tracked.contains(baseFileOf(file.toAbsolutePath().normalize())) || !isOlderThan(file, cutoff)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file);
+                report.getRemovedFiles().add(file.toString());
+                logger.warn("Removed orphaned upload: {}", file);
+            } catch (IOException e) {
+                logger.warn("Could not remove orphaned upload: {}", file, e);
+            }
+        }
+
+        oldDirectories.sort(Comparator.reverseOrder());
+        pruneEmptyDirectories(oldDirectories, report);
+    }
+
+    private void pruneEmptyDirectories(List<Path> candidates, ReconciliationReport report) throws IOException {
+        // En derindeki dizinden başlanır, böylece boşalan üst dizinler de aynı turda silinir
+        for (Path candidate : candidates) {
+            try (Stream<Path> children = Files.list(candidate)) {
+                if (children.findAny().isPresent()) {
+                    continue;
+                }
+            }
+            try {
+                Files.delete(candidate);
+                report.getPrunedDirectories().add(candidate.toString());
+            } catch (DirectoryNotEmptyException e) {
+                // Bu arada yeni bir dosya yüklenmiş
+            }
+        }
+    }
+
+    private void reconcileDocuments(Instant cutoff, ReconciliationReport report) {
+        List<StoredFileRef> batch = documentRepository.findFileRefsAfter(documentCursor, PageRequest.of(0, batchSize));
+        report.setScannedDocuments(batch.size());
+        documentCursor = nextCursor(batch);
+
+        List<StoredFileRef> dangling = findDangling(batch, cutoff);
+        dangling.forEach(ref -> report.getDanglingDocumentIds().add(ref.getId()));
+        if (dangling.isEmpty() || !deleteDanglingRows) {
+            return;
+        }
+
+        documentRepository.deleteAllByIdInBatch(dangling.stream().map(StoredFileRef::getId).toList());
+        dangling.forEach(ref -> eventPublisher.publishEvent(new FileDeletedEvent(
+                StoredFileType.DOCUMENT, ref.getId(), ref.getInternshipId(), ref.getFilePath())));
+    }
+
+    private void reconcileReports(Instant cutoff, ReconciliationReport report) {
+        List<StoredFileRef> batch = reportRepository.findFileRefsAfter(reportCursor, PageRequest.of(0, batchSize));
+        report.setScannedReports(batch.size());
+        reportCursor = nextCursor(batch);
+
+        List<StoredFileRef> dangling = findDangling(batch, cutoff);
+        dangling.forEach(ref -> report.getDanglingReportIds().add(ref.getId()));
+        if (dangling.isEmpty() || !deleteDanglingRows) {
+            return;
+        }
+
+        reportRepository.deleteAllByIdInBatch(dangling.stream().map(StoredFileRef::getId).toList());
+        dangling.forEach(ref -> eventPublisher.publishEvent(new FileDeletedEvent(
+                StoredFileType.REPORT, ref.getId(), ref.getInternshipId(), ref.getFilePath())));
+    }
+
+    private List<StoredFileRef> findDangling(List<StoredFileRef> batch, Instant cutoff) {
+        List<StoredFileRef> dangling = new ArrayList<>();
+        for (StoredFileRef ref : batch) {
+            boolean old = ref.getUploadedAt() == null
+                    || ref.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant().isBefore(cutoff);
+            if (old && (ref.getFilePath() == null || !Files.exists(Paths.get(ref.getFilePath())))) {
+                logger.warn("Record {} points to a missing file: {}", ref.getId(), ref.getFilePath());
+                dangling.add(ref);
+            }
+        }
+        return dangling;
+    }
+
+    private long nextCursor(List<StoredFileRef> batch) {
+        return batch.size() < batchSize ? 0 : batch.get(batch.size() - 1).getId();
+    }
+
+    // Önizleme ve meta veri dosyaları ait oldukları belgeyle birlikte değerlendirilir
+    private Path baseFileOf(Path file) {
+        String name = file.getFileName().toString();
+        boolean stripped = true;
+        while (stripped) {
+            stripped = false;
+            for (String suffix : SIDECAR_SUFFIXES) {
+                if (name.endsWith(suffix) && name.length() > suffix.length()) {
+                    name = name.substring(0, name.length() - suffix.length());
+                    stripped = true;
+                }
+            }
+        }
+        return file.resolveSibling(name);
+    }
+
+    private boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,207 @@
+package com.internship.service.impl;
+
+import com.internship.dto.StoredFileRef;
+import com.internship.entity.InternshipStatus;
+import com.internship.event.StoredFileType;
+import com.internship.repository.DocumentRepository;
+import com.internship.repository.InternshipReportRepository;
+import com.internship.service.FileStorageService;
+import com.internship.service.StorageTieringService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamamlanmış ve bitiş tarihi üzerinden uzun süre geçmiş stajların dosyalarını gzip ile
+ * sıkıştırıp arşiv dizinine taşır. Sıra: sıkıştır, kaydın yolunu koşullu güncelle, yan dosyaları
+ * taşı, kaynağı sil. Arada kesilen işlemlerin artıkları depolama mutabakatı tarafından toplanır.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageTieringServiceImpl implements StorageTieringService {
+
+    // Yükleme servisleri de dosyaları bu kök altına yazar
+    private static final String UPLOAD_ROOT = "uploads";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentRepository documentRepository;
+    private final InternshipReportRepository reportRepository;
+
+    @Value("${app.tiering.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.tiering.archive-dir:archive}")
+    private String archiveDir;
+
+    // Soğukluk stajın bitiş tarihine göre belirlenir
+    @Value("${app.tiering.cold-after-days:365}")
+    private int coldAfterDays;
+
+    @Value("${app.tiering.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.tiering.max-files-per-run:1000}")
+    private int maxFilesPerRun;
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageTieringServiceImpl.class);
+
+    @Scheduled(cron = "${app.tiering.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveColdFiles();
+        }
+    }
+
+    @Override
+    public synchronized Map<String, Object> archiveColdFiles() {
+        long start = System.currentTimeMillis();
+        LocalDate endedBefore = LocalDate.now().minusDays(coldAfterDays);
+        TieringStats stats = new TieringStats();
+
+        moveColdFiles(StoredFileType.DOCUMENT, endedBefore, stats);
+        moveColdFiles(StoredFileType.REPORT, endedBefore, stats);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endedBefore", endedBefore.toString());
+        result.put("documentsArchived", stats.documents);
+        result.put("reportsArchived", stats.reports);
+        result.put("skipped", stats.skipped);
+        result.put("failed", stats.failed);
+        result.put("bytesBefore", stats.bytesBefore);
+        result.put("bytesAfter", stats.bytesAfter);
+        result.put("durationMs", System.currentTimeMillis() - start);
+
+        logger.info("Storage tiering finished: {}", result);
+        return result;
+    }
+
+    private void moveColdFiles(StoredFileType type, LocalDate endedBefore, TieringStats stats) {
+        long afterId = 0;
+        // Arşiv katmanı uzantıyla değil dizinle belirlenir; yüklenmiş bir .gz dosyası da taşınabilir
+        String archivedPattern = Paths.get(archiveDir) + File.separator + "%";
+        while (stats.processed() < maxFilesPerRun) {
+            PageRequest page = PageRequest.of(0, batchSize);
+            List<StoredFileRef> batch = type == StoredFileType.DOCUMENT
+                    ? documentRepository.findColdFileRefs(afterId, InternshipStatus.COMPLETED, endedBefore, archivedPattern, page)
+                    : reportRepository.findColdFileRefs(afterId, InternshipStatus.COMPLETED, endedBefore, archivedPattern, page);
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            for (StoredFileRef ref : batch) {
+                if (stats.processed() >= maxFilesPerRun) {
+                    return;
+                }
+                moveToArchive(type, ref, stats);
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private void moveToArchive(StoredFileType type, StoredFileRef ref, TieringStats stats) {
+        Path source = Paths.get(ref.getFilePath());
+        if (!Files.isRegularFile(source)) {
+            logger.warn("Cannot archive {} {}, file not found: {}", type, ref.getId(), ref.getFilePath());
+            stats.failed++;
+            return;
+        }
+
+        Path target = archiveTargetFor(ref, source);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            String newPath = target.toString();
+            int updated = type == StoredFileType.DOCUMENT
+                    ? documentRepository.updateFilePath(ref.getId(), ref.getFilePath(), newPath)
+                    : reportRepository.updateFilePath(ref.getId(), ref.getFilePath(), newPath);
+            if (updated == 0) {
+                // Kayıt bu sırada silinmiş ya da değişmiş, arşiv kopyası gereksiz
+                Files.deleteIfExists(target);
+                stats.skipped++;
+                return;
+            }
+
+            stats.bytesBefore += Files.size(source);
+            stats.bytesAfter += Files.size(target);
+            moveSidecars(ref.getFilePath(), newPath);
+            Files.deleteIfExists(source);
+
+            if (type == StoredFileType.DOCUMENT) {
+                stats.documents++;
+            } else {
+                stats.reports++;
+            }
+            logger.debug("Archived {} {} to {}", type, ref.getId(), newPath);
+        } catch (IOException e) {
+            logger.error("Failed to archive {} {} from {}", type, ref.getId(), ref.getFilePath(), e);
+            stats.failed++;
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Artık geçici dosya mutabakat işinde temizlenir
+            }
+        }
+    }
+
+    // uploads altındaki dizin yapısı arşivde korunur
+    private Path archiveTargetFor(StoredFileRef ref, Path source) {
+        Path uploadRoot = Paths.get(UPLOAD_ROOT).toAbsolutePath().normalize();
+        Path absolute = source.toAbsolutePath().normalize();
+        Path relative = absolute.startsWith(uploadRoot)
+                ? uploadRoot.relativize(absolute)
+                : Paths.get("internship_" + ref.getInternshipId(), source.getFileName().toString());
+        return Paths.get(archiveDir).resolve(relative + FileStorageService.ARCHIVE_SUFFIX);
+    }
+
+    // Önizleme ve meta veri dosyaları sıkıştırılmadan yeni yolun yanına taşınır
+    private void moveSidecars(String oldPath, String newPath) {
+        for (String suffix : List.of(DocumentPreviewServiceImpl.PREVIEW_SUFFIX, DocumentPreviewServiceImpl.METADATA_SUFFIX)) {
+            Path sidecar = Paths.get(oldPath + suffix);
+            if (!Files.exists(sidecar)) {
+                continue;
+            }
+            try {
+                Files.move(sidecar, Paths.get(newPath + suffix), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                logger.warn("Could not move sidecar {}, it will be regenerated on demand", sidecar, e);
+            }
+        }
+    }
+
+    private static class TieringStats {
+        private int documents;
+        private int reports;
+        private int skipped;
+        private int failed;
+        private long bytesBefore;
+        private long bytesAfter;
+
+        int processed() {
+            return documents + reports + skipped + failed;
+        }
+    }
+}
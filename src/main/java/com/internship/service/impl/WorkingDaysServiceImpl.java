@@ -1,18 +1,34 @@
 package com.internship.service.impl;
 
+import com.internship.dto.WorkingDaySlot;
 import com.internship.entity.ApplicationWorkingDays;
 import com.internship.entity.Internship;
+import com.internship.event.WorkingDaysChangedEvent;
 import com.internship.repository.ApplicationWorkingDaysRepository;
 import com.internship.repository.InternshipRepository;
+import com.internship.service.BusinessCalendarService;
 import com.internship.service.WorkingDaysService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,47 +37,142 @@ public class WorkingDaysServiceImpl implements WorkingDaysService {
 
     private final ApplicationWorkingDaysRepository workingDaysRepository;
     private final InternshipRepository internshipRepository;
+    private final BusinessCalendarService businessCalendarService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingDaysServiceImpl.class);
 
     @Override
     public List<ApplicationWorkingDays> saveWorkingDays(Long internshipId, List<ApplicationWorkingDays> workingDays) {
         Internship internship = internshipRepository.findById(internshipId)
                 .orElseThrow(() -> new EntityNotFoundException("Staj bulunamadı"));
 
-        workingDays.forEach(day -> day.setInternship(internship));
-        return workingDaysRepository.saveAll(workingDays);
+        List<ApplicationWorkingDays> saved = workingDaysRepository.saveAll(expand(internship, workingDays));
+        eventPublisher.publishEvent(new WorkingDaysChangedEvent(internshipId));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationWorkingDays> getWorkingDaysByInternshipId(Long internshipId) {
         return workingDaysRepository.findByInternshipId(internshipId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApplicationWorkingDays> getWorkingDaysBetweenDates(Long internshipId, LocalDate startDate, LocalDate endDate) {
-        // Tüm günleri getir ve servis katmanında filtrele
-        // Not: Bu metot, staj günleri ile tarih aralığını kıyaslayacak şekilde değiştirilmeli
-        // Şimdilik tüm günleri dönüyoruz, gerçek filtreleme uygulamanın ihtiyaçlarına göre yapılmalı
-        return workingDaysRepository.findByInternshipId(internshipId);
+        return workingDaysRepository.findByInternshipIdAndWorkDateBetweenOrderByWorkDateAsc(internshipId, startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ApplicationWorkingDays> getWorkingDaysBetweenDates(Long internshipId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        return workingDaysRepository.findByInternshipIdAndWorkDateBetween(internshipId, startDate, endDate, pageable);
     }
 
     @Override
     public int calculateTotalWorkingDays(Long internshipId) {
-        return workingDaysRepository.countWorkingDaysByInternshipId(internshipId);
+        Internship internship = internshipRepository.findById(internshipId)
+                .orElseThrow(() -> new EntityNotFoundException("Staj bulunamadı"));
+        return businessCalendarService.countBusinessDays(internship.getStartDate(), internship.getEndDate(),
+                businessCalendarService.getWorkWeek(internshipId));
     }
 
+    /**
+     * Mevcut program ile yeni program tarih bazında karşılaştırılır; sadece eklenen, saati
+     * değişen ve çıkarılan günler için toplu ifade çalışır. Tarihsiz eski satırlar silinir.
+     */
     @Override
     @Transactional
     public List<ApplicationWorkingDays> updateWorkingDays(Long internshipId, List<ApplicationWorkingDays> workingDays) {
-        // Önce mevcut günleri sil
-        workingDaysRepository.deleteByInternshipId(internshipId);
-        
-        // Yeni günleri kaydet
-        return saveWorkingDays(internshipId, workingDays);
+        Internship internship = internshipRepository.findById(internshipId)
+                .orElseThrow(() -> new EntityNotFoundException("Staj bulunamadı"));
+
+        Map<LocalDate, ApplicationWorkingDays> incoming = new HashMap<>();
+        for (ApplicationWorkingDays day : expand(internship, workingDays)) {
+            incoming.put(day.getWorkDate(), day);
+        }
+
+        List<Long> toDelete = new ArrayList<>();
+        List<Object[]> toUpdate = new ArrayList<>();
+        Set<LocalDate> kept = new HashSet<>();
+        for (WorkingDaySlot slot : workingDaysRepository.findSlotsByInternshipId(internshipId)) {
+            ApplicationWorkingDays target = incoming.get(slot.getWorkDate());
+            if (slot.getWorkDate() == null || target == null || !kept.add(slot.getWorkDate())) {
+                toDelete.add(slot.getId());
+            } else if (!Objects.equals(slot.getStartTime(), target.getStartTime())
+                    || !Objects.equals(slot.getEndTime(), target.getEndTime())) {
+                toUpdate.add(new Object[]{target.getStartTime(), target.getEndTime(), slot.getId()});
+            }
+        }
+        List<ApplicationWorkingDays> toInsert = incoming.values().stream()
+                .filter(day -> !kept.contains(day.getWorkDate()))
+                .toList();
+
+        if (!toDelete.isEmpty()) {
+            workingDaysRepository.deleteByIdIn(toDelete);
+        }
+        if (!toUpdate.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE application_working_days SET start_time = ?, end_time = ? WHERE id = ?", toUpdate);
+        }
+        if (!toInsert.isEmpty()) {
+            workingDaysRepository.saveAll(toInsert);
+        }
+        logger.debug("Working days of internship {} updated: {} inserted, {} updated, {} deleted",
+                internshipId, toInsert.size(), toUpdate.size(), toDelete.size());
+        eventPublisher.publishEvent(new WorkingDaysChangedEvent(internshipId));
+
+        return workingDaysRepository.findByInternshipIdAndWorkDateBetweenOrderByWorkDateAsc(
+                internshipId, internship.getStartDate(), internship.getEndDate());
     }
 
     @Override
     @Transactional
     public void deleteWorkingDays(Long internshipId) {
         workingDaysRepository.deleteByInternshipId(internshipId);
+        eventPublisher.publishEvent(new WorkingDaysChangedEvent(internshipId));
+    }
+
+    /**
+     * Tarihi olan günler olduğu gibi alınır, aynı tarih birden fazla verilirse ilki geçerlidir.
+     * Tarihsiz günler haftalık program sayılır ve stajın
+     * başlangıç-bitiş aralığında tatil olmayan her eşleşen gün için ayrı bir satıra açılır.
+     */
+    private List<ApplicationWorkingDays> expand(Internship internship, List<ApplicationWorkingDays> workingDays) {
+        List<ApplicationWorkingDays> result = new ArrayList<>();
+        Set<LocalDate> dated = new HashSet<>();
+        Map<DayOfWeek, ApplicationWorkingDays> weekly = new EnumMap<>(DayOfWeek.class);
+        for (ApplicationWorkingDays day : workingDays) {
+            if (day.getWorkDate() != null) {
+                if (day.getWorkDate().isBefore(internship.getStartDate()) || day.getWorkDate().isAfter(internship.getEndDate())) {
+                    throw new IllegalArgumentException("Çalışma günü staj tarihleri dışında: " + day.getWorkDate());
+                }
+                day.setDayOfWeek(day.getWorkDate().getDayOfWeek());
+                if (dated.add(day.getWorkDate())) {
+                    result.add(day);
+                }
+            } else {
+                weekly.put(day.getDayOfWeek(), day);
+            }
+        }
+
+        if (!weekly.isEmpty()) {
+            for (LocalDate date = internship.getStartDate(); !date.isAfter(internship.getEndDate()); date = date.plusDays(1)) {
+                ApplicationWorkingDays template = weekly.get(date.getDayOfWeek());
+                // Tarihi ayrıca verilen gün haftalık programın önüne geçer
+                if (template != null && !dated.contains(date) && businessCalendarService.isBusinessDay(date, weekly.keySet())) {
+                    result.add(ApplicationWorkingDays.builder()
+                            .workDate(date)
+                            .dayOfWeek(date.getDayOfWeek())
+                            .startTime(template.getStartTime())
+                            .endTime(template.getEndTime())
+                            .build());
+                }
+            }
+        }
+
+        result.forEach(day -> day.setInternship(internship));
+        return result;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Çok satır yazılan tablolar IDENTITY yerine 50'şer artan sequence'lardan kimlik alır; IDENTITY
+ * Hibernate'in insert batch'ini kapatıyordu. Sequence başlangıcı tablodaki en büyük kimliğe göre
+ * hesaplandığı için bu migration SQL yerine Java ile yazıldı.
+ *
+ * <p>Hibernate'in pooled optimizer'ı sequence'tan gelen değeri bloğun üst sınırı sayar
+ * ({@code değer - 49 .. değer}); bu yüzden sequence en büyük kimliğin 50 fazlasından başlar.
+ * Kolonlardaki IDENTITY varsayılanı kaldırılmaz, bu tablolara kimliksiz INSERT atılmamalıdır.
+ */
+public class V3__Pooled_id_sequences extends BaseJavaMigration {
+
+    // Entity'lerdeki @SequenceGenerator allocationSize değeri ile aynı olmalı
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> TABLES = List.of(
+            "notifications",
+            "application_working_days",
+            "application_approvals",
+            "documents",
+            "internship_reports");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                        + " INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
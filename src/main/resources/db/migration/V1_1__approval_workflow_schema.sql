@@ -0,0 +1,87 @@
+-- İlk sürümden sonra, Flyway'e geçmeden önce eklenen şema: durum geçişleri ve SLA takibi, onay
+-- olay kaydı ve projeksiyonu, iş günü takvimi, somut çalışma günleri, dashboard istatistikleri ve
+-- SGK bildirge numarası tekilliği. V1 olarak işaretlenen eski veritabanlarında da bu dosya çalışır.
+
+-- Durum geçişleri için iyimser kilit ve SLA takibi
+ALTER TABLE internships ADD COLUMN status_changed_at TIMESTAMP(6);
+ALTER TABLE internships ADD COLUMN sla_escalated_at TIMESTAMP(6);
+ALTER TABLE internships ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX idx_internships_status_changed ON internships (status, status_changed_at);
+
+-- Onay anındaki rol
+ALTER TABLE application_approvals ADD COLUMN approver_role VARCHAR(50);
+
+CREATE INDEX idx_approvals_internship_role_status ON application_approvals (internship_id, approver_role, status);
+
+-- Haftalık programdan takvime açılmış somut çalışma günü
+ALTER TABLE application_working_days ADD COLUMN work_date DATE;
+
+CREATE INDEX idx_working_days_internship_date ON application_working_days (internship_id, work_date);
+
+-- Bildirge numaraları sunucuda üretilir ve tekildir. Eski sürümde numara istemciden geldiği için
+-- yükseltmeden önce tekrar eden numaralar elle düzeltilmelidir, aksi halde bu kısıt eklenemez.
+-- internship_id tekilliği ilk sürümde @OneToOne ile zaten vardı.
+ALTER TABLE sgk_declarations ADD CONSTRAINT uk_sgk_declarations_number UNIQUE (declaration_number);
+
+-- Approval Events Table
+CREATE TABLE approval_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    internship_id BIGINT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    from_status VARCHAR(255),
+    to_status VARCHAR(255),
+    actor_id BIGINT,
+    actor_role VARCHAR(50),
+    related_user_id BIGINT,
+    comment TEXT,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_approval_events_internship ON approval_events (internship_id, id);
+
+-- Internship Approval States Table (approval_events projeksiyonu)
+CREATE TABLE internship_approval_states (
+    internship_id BIGINT NOT NULL PRIMARY KEY,
+    current_status VARCHAR(255),
+    advisor_id BIGINT,
+    submitted_at TIMESTAMP(6),
+    advisor_assigned_at TIMESTAMP(6),
+    advisor_approved_at TIMESTAMP(6),
+    coordinator_approved_at TIMESTAMP(6),
+    rejected_at TIMESTAMP(6),
+    revision_count INTEGER NOT NULL,
+    event_count INTEGER NOT NULL,
+    last_event_id BIGINT,
+    last_event_type VARCHAR(30),
+    last_event_at TIMESTAMP(6),
+    last_actor_id BIGINT,
+    last_actor_role VARCHAR(50),
+    last_comment TEXT,
+    timeline TEXT
+);
+
+CREATE INDEX idx_approval_states_status ON internship_approval_states (current_status, last_event_at);
+
+-- Holidays Table
+CREATE TABLE holidays (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    holiday_date DATE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    scope VARCHAR(255) NOT NULL,
+    recurring BOOLEAN NOT NULL
+);
+
+CREATE INDEX idx_holidays_date ON holidays (holiday_date);
+
+-- Internship Statistics Table
+CREATE TABLE internship_statistics (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    paid BOOLEAN NOT NULL,
+    internship_count BIGINT NOT NULL,
+    updated_at TIMESTAMP(6),
+    reconciled_at TIMESTAMP(6),
+    CONSTRAINT uk_internship_statistics_key UNIQUE (status, type, paid)
+);
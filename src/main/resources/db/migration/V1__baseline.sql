@@ -0,0 +1,152 @@
+-- İlk sürümün entity'lerinden ddl-auto=update ile oluşan şema, Flyway'e geçmeden önceki son durum.
+-- O sürümle ddl-auto ile kurulmuş veritabanlarında bu dosya çalıştırılmaz, baseline olarak işaretlenir
+-- (spring.flyway.baseline-on-migrate); sonraki bütün şema değişiklikleri V1_1 ve sonrasındaki
+-- migration'lardadır. Bu yüzden dosya değiştirilmemeli, yeni kolon ve tablolar yeni migration'a yazılmalıdır.
+-- Enum kolonlarındaki kontrol kısıtları Hibernate'in o sürümde ürettikleridir.
+
+-- Users Table
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    faculty_advisor_id BIGINT,
+    enabled BOOLEAN NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_faculty_advisor FOREIGN KEY (faculty_advisor_id) REFERENCES users(id)
+);
+
+-- Roles Table
+CREATE TABLE roles (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+-- User Roles Junction Table
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles(id)
+);
+
+-- Password Reset Tokens Table
+CREATE TABLE password_reset_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    used BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_password_reset_tokens_token UNIQUE (token),
+    CONSTRAINT uk_password_reset_tokens_user UNIQUE (user_id),
+    CONSTRAINT fk_password_reset_tokens_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Internships Table
+CREATE TABLE internships (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    advisor_id BIGINT,
+    company_name VARCHAR(255) NOT NULL,
+    company_address VARCHAR(255) NOT NULL,
+    company_phone VARCHAR(255) NOT NULL,
+    companyiban VARCHAR(255),
+    bank_name VARCHAR(255),
+    bank_branch VARCHAR(255),
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    work_days INTEGER NOT NULL,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('MANDATORY', 'VOLUNTARY')),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'PENDING_ADVISOR_APPROVAL', 'ADVISOR_APPROVED', 'COORDINATOR_APPROVED', 'REJECTED', 'COMPLETED')),
+    is_paid BOOLEAN NOT NULL,
+    insurance_support BOOLEAN NOT NULL,
+    parental_insurance_coverage BOOLEAN NOT NULL,
+    description TEXT,
+    rejection_reason VARCHAR(255),
+    document_name VARCHAR(255),
+    document_path VARCHAR(255),
+    document_type VARCHAR(255),
+    document_upload_date TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_internships_student FOREIGN KEY (student_id) REFERENCES users(id),
+    CONSTRAINT fk_internships_advisor FOREIGN KEY (advisor_id) REFERENCES users(id)
+);
+
+-- Application Approvals Table
+CREATE TABLE application_approvals (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    internship_id BIGINT NOT NULL,
+    approver_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'PENDING_ADVISOR_APPROVAL', 'ADVISOR_APPROVED', 'COORDINATOR_APPROVED', 'REJECTED', 'COMPLETED')),
+    comment TEXT,
+    action_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_approvals_internship FOREIGN KEY (internship_id) REFERENCES internships(id),
+    CONSTRAINT fk_approvals_approver FOREIGN KEY (approver_id) REFERENCES users(id)
+);
+
+-- Application Working Days Table
+CREATE TABLE application_working_days (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    internship_id BIGINT NOT NULL,
+    day_of_week VARCHAR(255) NOT NULL CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time VARCHAR(255) NOT NULL,
+    end_time VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_working_days_internship FOREIGN KEY (internship_id) REFERENCES internships(id)
+);
+
+-- Documents Table
+CREATE TABLE documents (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    internship_id BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_type VARCHAR(50) NOT NULL,
+    file_path VARCHAR(255) NOT NULL,
+    uploaded_at TIMESTAMP(6) NOT NULL,
+    description TEXT,
+    CONSTRAINT fk_documents_internship FOREIGN KEY (internship_id) REFERENCES internships(id)
+);
+
+-- Internship Reports Table
+CREATE TABLE internship_reports (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    internship_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    file_name VARCHAR(255) NOT NULL,
+    file_type VARCHAR(50) NOT NULL,
+    file_path VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED', 'REVISION', 'COMPLETED')),
+    grade INTEGER,
+    advisor_feedback VARCHAR(1000),
+    uploaded_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_reports_internship FOREIGN KEY (internship_id) REFERENCES internships(id)
+);
+
+-- Notifications Table
+CREATE TABLE notifications (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('SYSTEM_NOTIFICATION', 'ADVISOR_ASSIGNMENT', 'DOCUMENT_UPLOAD', 'STATUS_UPDATE', 'COMMENT_ADDED', 'SGK_DECLARATION', 'SGK_DECLARATION_UPDATE')),
+    is_read BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- SGK Declarations Table
+CREATE TABLE sgk_declarations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    internship_id BIGINT NOT NULL,
+    declaration_number VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    notes VARCHAR(500),
+    CONSTRAINT uk_sgk_declarations_internship UNIQUE (internship_id),
+    CONSTRAINT fk_sgk_declarations_internship FOREIGN KEY (internship_id) REFERENCES internships(id)
+);
@@ -0,0 +1,52 @@
+-- Repository sorgularının kullandığı indeksler. Baseline ile işaretlenen eski veritabanlarında da
+-- çalıştığı için IF NOT EXISTS kullanılır. Her indeksin üstünde karşıladığı sorgular yazılıdır;
+-- tüm tabloyu gruplayan analitik sorgular (sumWorkDaysBy*, countScheduledDaysByMonth,
+-- countByStatusTypeAndPaid) bilinçli olarak tarama yapar ve listede yoktur.
+
+-- InternshipRepository.findByStudent*, InternshipService.getInternshipsByStudent
+CREATE INDEX IF NOT EXISTS idx_internships_student ON internships (student_id);
+
+-- InternshipRepository.findByAdvisor*; danışman ve durum birlikte filtrelendiğinde de kullanılır
+CREATE INDEX IF NOT EXISTS idx_internships_advisor_status ON internships (advisor_id, status);
+
+-- InternshipRepository.findWithoutDeclaration, findByStatus
+CREATE INDEX IF NOT EXISTS idx_internships_status_start ON internships (status, start_date);
+
+-- DocumentRepository/InternshipReportRepository.findForArchive, InternshipRepository.countActiveByStatus
+CREATE INDEX IF NOT EXISTS idx_internships_start_end ON internships (start_date, end_date);
+
+-- DocumentRepository.findByInternshipId*, findByInternshipIdAndFileType*, findFilePathsByInternshipId
+CREATE INDEX IF NOT EXISTS idx_documents_internship_type ON documents (internship_id, file_type);
+
+-- InternshipReportRepository.findByInternshipId*, findByInternshipIdAndStatus*
+CREATE INDEX IF NOT EXISTS idx_reports_internship_status ON internship_reports (internship_id, status);
+
+-- ApplicationApprovalRepository.findByInternshipIdOrderByActionDateDesc, findFirstByInternshipIdOrderByActionDateDesc
+CREATE INDEX IF NOT EXISTS idx_approvals_internship_action ON application_approvals (internship_id, action_date);
+
+-- ApplicationApprovalRepository.findByApprover*OrderByActionDateDesc
+CREATE INDEX IF NOT EXISTS idx_approvals_approver_action ON application_approvals (approver_id, action_date);
+
+-- NotificationRepository.findByUserOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications (user_id, created_at);
+
+-- NotificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc, countByUserAndIsReadFalse
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read_created ON notifications (user_id, is_read, created_at);
+
+-- UserRepository.findByFacultyAdvisor*
+CREATE INDEX IF NOT EXISTS idx_users_faculty_advisor ON users (faculty_advisor_id);
+
+-- UserRepository.findByIdWithRoles ve User.roles koleksiyonunun tembel yüklenmesi
+CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles (user_id, role_id);
+
+-- UserRepository.findByRoles*, findIdsByRoleName
+CREATE INDEX IF NOT EXISTS idx_user_roles_role ON user_roles (role_id, user_id);
+
+-- InternshipApprovalStateRepository.findAllByOrderByLastEventAtDesc
+CREATE INDEX IF NOT EXISTS idx_approval_states_last_event ON internship_approval_states (last_event_at);
+
+-- SGKDeclarationRepository.streamActiveForExport
+CREATE INDEX IF NOT EXISTS idx_sgk_declarations_period ON sgk_declarations (start_date, end_date);
+
+-- SGKDeclarationNumberService blok ayırma boyutu (ALLOCATION_SIZE) ile aynı artar
+CREATE SEQUENCE IF NOT EXISTS sgk_declaration_number_seq START WITH 1 INCREMENT BY 50;
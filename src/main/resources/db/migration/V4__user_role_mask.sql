@@ -0,0 +1,17 @@
+-- Kullanıcı rollerinin bit maskesi. Yetki kontrolleri user_roles tablosuna join yapmadan users
+-- satırından okunur; user_roles rol bazlı sorgular için tutulmaya devam eder. Bit değerleri
+-- RoleType enum'u ile aynıdır.
+ALTER TABLE users ADD COLUMN role_mask INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE users SET role_mask = (
+    SELECT COALESCE(SUM(CASE r.name
+        WHEN 'ROLE_STUDENT' THEN 1
+        WHEN 'ROLE_FACULTY_ADVISOR' THEN 2
+        WHEN 'ROLE_DEPARTMENT_COORDINATOR' THEN 4
+        WHEN 'ROLE_UNIVERSITY_COORDINATOR' THEN 8
+        WHEN 'ROLE_ADMIN' THEN 16
+        WHEN 'ROLE_USER' THEN 32
+        ELSE 0 END), 0)
+    FROM roles r
+    WHERE r.id IN (SELECT ur.role_id FROM user_roles ur WHERE ur.user_id = users.id)
+);
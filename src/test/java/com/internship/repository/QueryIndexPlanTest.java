@@ -0,0 +1,348 @@
+package com.internship.repository;
+
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import com.internship.entity.ReportStatus;
+import com.internship.entity.Role;
+import com.internship.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Her repository metodunu çağırıp Hibernate'in gönderdiği SQL'i yakalar ve H2'de EXPLAIN ile planını
+ * kontrol eder. İndeks seçimi planlayıcıya bırakılır; sorgunun tabloya hangi kolonlar üzerinden
+ * eriştiği doğrulanır. H2 yabancı anahtarlar için kendi indeksini oluşturduğu için (PostgreSQL
+ * oluşturmaz) plan V2'deki bileşik indeks yerine bu indeksi seçebilir; bu yüzden indeks adı değil,
+ * indeks koşulunun kolonları beklenir.
+ *
+ * <p>Bütün tabloyu okuması beklenen sorgular gerekçesiyle {@link #fullRead} ile kaydedilir.
+ */
+// Ayrı uygulama bağlamı açıldığı için arama indeksi diğer testlerin kilitlediği dizinden ayrılır
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.internship.repository.RecordingStatementInspector",
+        "app.search.index-dir=target/test-search-index-plans"
+})
+class QueryIndexPlanTest {
+
+    @Autowired private InternshipRepository internshipRepository;
+    @Autowired private DocumentRepository documentRepository;
+    @Autowired private InternshipReportRepository reportRepository;
+    @Autowired private ApplicationApprovalRepository approvalRepository;
+    @Autowired private ApplicationWorkingDaysRepository workingDaysRepository;
+    @Autowired private ApprovalEventRepository approvalEventRepository;
+    @Autowired private HolidayRepository holidayRepository;
+    @Autowired private InternshipApprovalStateRepository approvalStateRepository;
+    @Autowired private InternshipStatisticRepository statisticRepository;
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private SGKDeclarationRepository sgkDeclarationRepository;
+    @Autowired private ApplicationContext applicationContext;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private final Map<String, PlanCheck> checks = new LinkedHashMap<>();
+
+    private record Fixture(User user, Role role) {
+    }
+
+    // accessedColumns null ise sorgu bütün tabloyu okur, reason nedenini açıklar
+    private record PlanCheck(String accessedColumns, String reason, Consumer<Fixture> call) {
+    }
+
+    @BeforeEach
+    void registerChecks() {
+        Pageable page = PageRequest.of(0, 10);
+        List<Long> ids = List.of(1L, 2L);
+        LocalDate day = LocalDate.of(2026, 7, 1);
+        LocalDate to = LocalDate.of(2026, 7, 31);
+        LocalDateTime now = LocalDateTime.of(2026, 7, 1, 12, 0);
+        InternshipStatus pending = InternshipStatus.PENDING;
+        String advisorRole = "ROLE_FACULTY_ADVISOR";
+
+        indexed("InternshipRepository.findByStudent", "STUDENT_ID = ?1", f -> internshipRepository.findByStudent(f.user()));
+        indexed("InternshipRepository.findByAdvisor", "ADVISOR_ID = ?1", f -> internshipRepository.findByAdvisor(f.user()));
+        indexed("InternshipRepository.findByStatus", "STATUS = ?1", f -> internshipRepository.findByStatus(pending));
+        indexed("InternshipRepository.findByIdForUpdate", "ID = ?1", f -> internshipRepository.findByIdForUpdate(1L));
+        indexed("InternshipRepository.findByIdWithDocuments", "ID = ?1", f -> internshipRepository.findByIdWithDocuments(1L));
+        indexed("InternshipRepository.findByIdWithApprovals", "ID = ?1", f -> internshipRepository.findByIdWithApprovals(1L));
+        indexed("InternshipRepository.findByStudentWithDocuments", "STUDENT_ID = ?1", f -> internshipRepository.findByStudentWithDocuments(f.user()));
+        indexed("InternshipRepository.findByStudentWithApprovals", "STUDENT_ID = ?1", f -> internshipRepository.findByStudentWithApprovals(f.user()));
+        indexed("InternshipRepository.findByAdvisorWithDocuments", "ADVISOR_ID = ?1", f -> internshipRepository.findByAdvisorWithDocuments(f.user()));
+        indexed("InternshipRepository.findByAdvisorWithApprovals", "ADVISOR_ID = ?1", f -> internshipRepository.findByAdvisorWithApprovals(f.user()));
+        fullRead("InternshipRepository.findAllWithBasicDetails", "listeleme bütün stajları döndürür", f -> internshipRepository.findAllWithBasicDetails());
+        fullRead("InternshipRepository.findAllWithDocuments", "listeleme bütün stajları döndürür", f -> internshipRepository.findAllWithDocuments());
+        fullRead("InternshipRepository.findAllWithApprovals", "listeleme bütün stajları döndürür", f -> internshipRepository.findAllWithApprovals());
+        fullRead("InternshipRepository.findAllWithDetails", "listeleme bütün stajları döndürür", f -> internshipRepository.findAllWithDetails());
+        indexed("InternshipRepository.findByIdWithDocumentsAndApprovals", "ID = ?1", f -> internshipRepository.findByIdWithDocumentsAndApprovals(1L));
+        indexed("InternshipRepository.findByStudentWithAllDetails", "STUDENT_ID = ?1", f -> internshipRepository.findByStudentWithAllDetails(f.user()));
+        indexed("InternshipRepository.findByAdvisorWithAllDetails", "ADVISOR_ID = ?1", f -> internshipRepository.findByAdvisorWithAllDetails(f.user()));
+        indexed("InternshipRepository.transitionStatus", "STATUS = ?4", f -> internshipRepository.transitionStatus(1L, pending, InternshipStatus.REJECTED, now));
+        indexed("InternshipRepository.lockByIds", "ID IN(?1, ?2)", f -> internshipRepository.lockByIds(ids));
+        indexed("InternshipRepository.findApprovalCandidates", "ID IN(?1, ?2)", f -> internshipRepository.findApprovalCandidates(ids));
+        indexed("InternshipRepository.transitionStatuses", "STATUS = ?5", f -> internshipRepository.transitionStatuses(ids, pending, InternshipStatus.REJECTED, now));
+        indexed("InternshipRepository.findOverdue", "STATUS = ?1 AND STATUS_CHANGED_AT < ?2", f -> internshipRepository.findOverdue(pending, now, 0L, page));
+        indexed("InternshipRepository.countByStatusAndStatusChangedAtBefore", "STATUS = ?1 AND STATUS_CHANGED_AT < ?2",
+                f -> internshipRepository.countByStatusAndStatusChangedAtBefore(pending, now));
+        indexed("InternshipRepository.markEscalated", "STATUS = ?4", f -> internshipRepository.markEscalated(ids, pending, now));
+        indexed("InternshipRepository.findIdsEscalatedAt", "ID IN(?1, ?2)", f -> internshipRepository.findIdsEscalatedAt(ids, now));
+        fullRead("InternshipRepository.backfillStatusChangedAt", "tek seferlik doldurma, status_changed_at boş satırları arar",
+                f -> internshipRepository.backfillStatusChangedAt());
+        fullRead("InternshipRepository.sumWorkDaysByStatusAndType", "istatistiklerin yeniden kurulumu bütün stajları gruplar",
+                f -> internshipRepository.sumWorkDaysByStatusAndType());
+        fullRead("InternshipRepository.sumWorkDaysByStartMonth", "aylık analiz raporu bütün stajları gruplar", f -> internshipRepository.sumWorkDaysByStartMonth());
+        indexed("InternshipRepository.countActiveByStatus", "START_DATE <= ?1 AND END_DATE >= ?2", f -> internshipRepository.countActiveByStatus(day));
+        fullRead("InternshipRepository.countByStatusTypeAndPaid", "istatistiklerin yeniden kurulumu bütün stajları gruplar",
+                f -> internshipRepository.countByStatusTypeAndPaid());
+        indexed("InternshipRepository.findStatisticKeys", "ID IN(?1, ?2)", f -> internshipRepository.findStatisticKeys(ids));
+        indexed("InternshipRepository.findStoredStatisticKey", "ID = ?1", f -> internshipRepository.findStoredStatisticKey(1L));
+        indexed("InternshipRepository.findWithoutDeclaration", "STATUS = ?1 AND START_DATE >= ?2 AND START_DATE <= ?3",
+                f -> internshipRepository.findWithoutDeclaration(InternshipStatus.COORDINATOR_APPROVED, day, to));
+
+        indexed("DocumentRepository.findByInternshipId", "INTERNSHIP_ID = ?1", f -> documentRepository.findByInternshipId(1L));
+        indexed("DocumentRepository.findByInternshipIdAndFileType", "INTERNSHIP_ID = ?1 AND FILE_TYPE = ?2",
+                f -> documentRepository.findByInternshipIdAndFileType(1L, "application/pdf"));
+        indexed("DocumentRepository.findFirstByInternshipIdOrderByUploadedAtDesc", "INTERNSHIP_ID = ?1",
+                f -> documentRepository.findFirstByInternshipIdOrderByUploadedAtDesc(1L));
+        indexed("DocumentRepository.findByInternshipIdOrderByUploadedAtDesc", "INTERNSHIP_ID = ?1",
+                f -> documentRepository.findByInternshipIdOrderByUploadedAtDesc(1L, page));
+        indexed("DocumentRepository.deleteByInternshipId", "INTERNSHIP_ID = ?1", f -> documentRepository.deleteByInternshipId(1L));
+        indexed("DocumentRepository.findByInternshipIdWithInternship", "INTERNSHIP_ID = ?1", f -> documentRepository.findByInternshipIdWithInternship(1L));
+        indexed("DocumentRepository.findByIdWithInternship", "ID = ?1", f -> documentRepository.findByIdWithInternship(1L));
+        indexed("DocumentRepository.findByInternshipIdAndFileTypeWithInternship", "INTERNSHIP_ID = I1_0.ID AND FILE_TYPE = ?2",
+                f -> documentRepository.findByInternshipIdAndFileTypeWithInternship(1L, "application/pdf"));
+        indexed("DocumentRepository.findForArchive", "START_DATE >= ?1 AND START_DATE <= ?2", f -> documentRepository.findForArchive(day, to, null, null));
+        indexed("DocumentRepository.findFileRefsAfter", "ID > ?1", f -> documentRepository.findFileRefsAfter(0L, page));
+        indexed("DocumentRepository.findFilePathsByInternshipId", "INTERNSHIP_ID = ?1", f -> documentRepository.findFilePathsByInternshipId(1L));
+        indexed("DocumentRepository.findColdFileRefs", "STATUS = ?2",
+                f -> documentRepository.findColdFileRefs(0L, InternshipStatus.COMPLETED, day, "archive/%", page));
+        indexed("DocumentRepository.updateFilePath", "ID = ?2", f -> documentRepository.updateFilePath(1L, "a", "b"));
+
+        indexed("InternshipReportRepository.findByInternshipId", "INTERNSHIP_ID = ?1", f -> reportRepository.findByInternshipId(1L));
+        indexed("InternshipReportRepository.findByInternshipIdAndStatus", "INTERNSHIP_ID = ?1 AND STATUS = ?2",
+                f -> reportRepository.findByInternshipIdAndStatus(1L, ReportStatus.PENDING));
+        indexed("InternshipReportRepository.findFirstByInternshipIdOrderByUploadedAtDesc", "INTERNSHIP_ID = ?1",
+                f -> reportRepository.findFirstByInternshipIdOrderByUploadedAtDesc(1L));
+        indexed("InternshipReportRepository.findByInternshipIdOrderByUploadedAtDesc", "INTERNSHIP_ID = ?1",
+                f -> reportRepository.findByInternshipIdOrderByUploadedAtDesc(1L, page));
+        indexed("InternshipReportRepository.deleteByInternshipId", "INTERNSHIP_ID = ?1", f -> reportRepository.deleteByInternshipId(1L));
+        indexed("InternshipReportRepository.findByIdWithInternship", "ID = ?1", f -> reportRepository.findByIdWithInternship(1L));
+        indexed("InternshipReportRepository.findByInternshipIdWithInternship", "INTERNSHIP_ID = ?1", f -> reportRepository.findByInternshipIdWithInternship(1L));
+        indexed("InternshipReportRepository.findByInternshipIdAndStatusWithInternship", "INTERNSHIP_ID = I1_0.ID AND STATUS = ?2",
+                f -> reportRepository.findByInternshipIdAndStatusWithInternship(1L, ReportStatus.PENDING));
+        indexed("InternshipReportRepository.findForArchive", "START_DATE >= ?1 AND START_DATE <= ?2", f -> reportRepository.findForArchive(day, to, null, null));
+        indexed("InternshipReportRepository.findFileRefsAfter", "ID > ?1", f -> reportRepository.findFileRefsAfter(0L, page));
+        indexed("InternshipReportRepository.findFilePathsByInternshipId", "INTERNSHIP_ID = ?1", f -> reportRepository.findFilePathsByInternshipId(1L));
+        indexed("InternshipReportRepository.findColdFileRefs", "STATUS = ?2",
+                f -> reportRepository.findColdFileRefs(0L, InternshipStatus.COMPLETED, day, "archive/%", page));
+        indexed("InternshipReportRepository.updateFilePath", "ID = ?2", f -> reportRepository.updateFilePath(1L, "a", "b"));
+
+        indexed("ApplicationApprovalRepository.findByInternshipIdOrderByActionDateDesc", "INTERNSHIP_ID = ?1",
+                f -> approvalRepository.findByInternshipIdOrderByActionDateDesc(1L));
+        indexed("ApplicationApprovalRepository.findByApproverOrderByActionDateDesc", "APPROVER_ID = ?1",
+                f -> approvalRepository.findByApproverOrderByActionDateDesc(f.user()));
+        indexed("ApplicationApprovalRepository.findByApproverIdOrderByActionDateDesc", "APPROVER_ID = ?1",
+                f -> approvalRepository.findByApproverIdOrderByActionDateDesc(1L));
+        indexed("ApplicationApprovalRepository.findFirstByInternshipIdOrderByActionDateDesc", "INTERNSHIP_ID = ?1",
+                f -> approvalRepository.findFirstByInternshipIdOrderByActionDateDesc(1L));
+        indexed("ApplicationApprovalRepository.findByInternshipIdAndStatusOrderByActionDateDesc", "INTERNSHIP_ID = ?1",
+                f -> approvalRepository.findByInternshipIdAndStatusOrderByActionDateDesc(1L, pending));
+        indexed("ApplicationApprovalRepository.existsByInternshipIdAndApproverId", "APPROVER_ID = ?2",
+                f -> approvalRepository.existsByInternshipIdAndApproverId(1L, 1L));
+        indexed("ApplicationApprovalRepository.existsByInternshipIdAndApproverRole", "INTERNSHIP_ID = ?1 AND APPROVER_ROLE = ?2",
+                f -> approvalRepository.existsByInternshipIdAndApproverRole(1L, advisorRole));
+        indexed("ApplicationApprovalRepository.existsByInternshipIdAndApproverRoleAndStatus", "STATUS = ?3 AND INTERNSHIP_ID = ?1 AND APPROVER_ROLE = ?2",
+                f -> approvalRepository.existsByInternshipIdAndApproverRoleAndStatus(1L, advisorRole, pending));
+        indexed("ApplicationApprovalRepository.findByInternshipIdAndApproverRoleAndStatusOrderByActionDateDesc",
+                "STATUS = ?3 AND INTERNSHIP_ID = ?1 AND APPROVER_ROLE = ?2",
+                f -> approvalRepository.findByInternshipIdAndApproverRoleAndStatusOrderByActionDateDesc(1L, advisorRole, pending));
+        fullRead("ApplicationApprovalRepository.backfillApproverRoles", "tek seferlik doldurma, approver_role boş satırları arar",
+                f -> approvalRepository.backfillApproverRoles());
+
+        indexed("ApplicationWorkingDaysRepository.findByInternshipId", "INTERNSHIP_ID = ?1", f -> workingDaysRepository.findByInternshipId(1L));
+        indexed("ApplicationWorkingDaysRepository.findByInternshipIdAndWorkDateBetweenOrderByWorkDateAsc",
+                "INTERNSHIP_ID = ?1 AND WORK_DATE >= ?2 AND WORK_DATE <= ?3",
+                f -> workingDaysRepository.findByInternshipIdAndWorkDateBetweenOrderByWorkDateAsc(1L, day, to));
+        indexed("ApplicationWorkingDaysRepository.findByInternshipIdAndWorkDateBetween", "INTERNSHIP_ID = ?1 AND WORK_DATE >= ?2 AND WORK_DATE <= ?3",
+                f -> workingDaysRepository.findByInternshipIdAndWorkDateBetween(1L, day, to, page));
+        indexed("ApplicationWorkingDaysRepository.countWorkingDaysByInternshipId", "INTERNSHIP_ID = ?1",
+                f -> workingDaysRepository.countWorkingDaysByInternshipId(1L));
+        indexed("ApplicationWorkingDaysRepository.deleteByInternshipId", "INTERNSHIP_ID = ?1", f -> workingDaysRepository.deleteByInternshipId(1L));
+        indexed("ApplicationWorkingDaysRepository.deleteByIdIn", "ID IN(?1, ?2)", f -> workingDaysRepository.deleteByIdIn(ids));
+        indexed("ApplicationWorkingDaysRepository.findSlotsByInternshipId", "INTERNSHIP_ID = ?1", f -> workingDaysRepository.findSlotsByInternshipId(1L));
+        indexed("ApplicationWorkingDaysRepository.findDaysOfWeekByInternshipId", "INTERNSHIP_ID = ?1",
+                f -> workingDaysRepository.findDaysOfWeekByInternshipId(1L));
+        fullRead("ApplicationWorkingDaysRepository.countScheduledDaysByMonth", "aylık analiz raporu bütün çalışma günlerini gruplar",
+                f -> workingDaysRepository.countScheduledDaysByMonth());
+
+        indexed("ApprovalEventRepository.findByInternshipIdOrderByIdAsc", "INTERNSHIP_ID = ?1", f -> approvalEventRepository.findByInternshipIdOrderByIdAsc(1L));
+        indexed("ApprovalEventRepository.existsByInternshipId", "INTERNSHIP_ID = ?1", f -> approvalEventRepository.existsByInternshipId(1L));
+        indexed("ApprovalEventRepository.findByInternshipIdAndIdLessThanOrderByIdDesc", "INTERNSHIP_ID = ?1 AND ID < ?2",
+                f -> approvalEventRepository.findByInternshipIdAndIdLessThanOrderByIdDesc(1L, 100L, page));
+
+        fullRead("HolidayRepository.findByRecurringTrue", "yıllık tekrarlanan tatiller birkaç satırlık tablodan okunur", f -> holidayRepository.findByRecurringTrue());
+        indexed("HolidayRepository.findByRecurringFalseAndDateBetween", "HOLIDAY_DATE >= ?1 AND HOLIDAY_DATE <= ?2",
+                f -> holidayRepository.findByRecurringFalseAndDateBetween(day, to));
+        fullRead("HolidayRepository.findAllByOrderByDateAsc", "tatil listesinin tamamı, sıralama tarih indeksinden gelir", f -> holidayRepository.findAllByOrderByDateAsc());
+
+        indexed("InternshipApprovalStateRepository.findByCurrentStatusOrderByLastEventAtAsc", "CURRENT_STATUS = ?1",
+                f -> approvalStateRepository.findByCurrentStatusOrderByLastEventAtAsc(pending, page));
+        fullRead("InternshipApprovalStateRepository.findAllByOrderByLastEventAtDesc",
+                "H2 indeksi geriye doğru okuyamaz; PostgreSQL idx_approval_states_last_event'i ters yönde tarar",
+                f -> approvalStateRepository.findAllByOrderByLastEventAtDesc(page));
+        fullRead("InternshipApprovalStateRepository.findInternshipIdsWithoutState", "projeksiyonu olmayan stajlar için bütün stajlar id sırasıyla gezilir",
+                f -> approvalStateRepository.findInternshipIdsWithoutState(page));
+
+        indexed("InternshipStatisticRepository.increment", "STATUS = ?3 AND TYPE = ?4 AND PAID = ?5",
+                f -> statisticRepository.increment(pending, InternshipType.MANDATORY, false, 1, now));
+        fullRead("InternshipStatisticRepository.findAllForUpdate", "tablo durum, tür ve ücret kombinasyonu kadar satır tutar",
+                f -> statisticRepository.findAllForUpdate());
+
+        indexed("NotificationRepository.findByUserOrderByCreatedAtDesc", "USER_ID = ?1", f -> notificationRepository.findByUserOrderByCreatedAtDesc(f.user()));
+        indexed("NotificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc", "USER_ID = ?1",
+                f -> notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(f.user()));
+        indexed("NotificationRepository.countByUserAndIsReadFalse", "USER_ID = ?1 AND IS_READ = FALSE",
+                f -> notificationRepository.countByUserAndIsReadFalse(f.user()));
+
+        indexed("PasswordResetTokenRepository.findByToken", "TOKEN = ?1", f -> passwordResetTokenRepository.findByToken("token"));
+        indexed("PasswordResetTokenRepository.findByUserEmail", "EMAIL = ?1", f -> passwordResetTokenRepository.findByUserEmail("a@example.com"));
+        indexed("PasswordResetTokenRepository.deleteByUserEmail", "EMAIL = ?1", f -> passwordResetTokenRepository.deleteByUserEmail("a@example.com"));
+
+        indexed("RoleRepository.findByName", "NAME = ?1", f -> roleRepository.findByName("ROLE_ADMIN"));
+
+        indexed("UserRepository.findByEmail", "EMAIL = ?1", f -> userRepository.findByEmail("a@example.com"));
+        indexed("UserRepository.existsByEmail", "EMAIL = ?1", f -> userRepository.existsByEmail("a@example.com"));
+        indexed("UserRepository.findByRoles", "ROLE_ID = R1_1.ID", f -> userRepository.findByRoles(f.role()));
+        indexed("UserRepository.findByFacultyAdvisor", "FACULTY_ADVISOR_ID = ?1", f -> userRepository.findByFacultyAdvisor(f.user()));
+        indexed("UserRepository.findByIdWithRoles", "USER_ID = U1_0.ID", f -> userRepository.findByIdWithRoles(1L));
+        indexed("UserRepository.findByRolesWithDetails", "ROLE_ID = R1_1.ID", f -> userRepository.findByRolesWithDetails(f.role()));
+        indexed("UserRepository.findByFacultyAdvisorWithInternships", "FACULTY_ADVISOR_ID = ?1",
+                f -> userRepository.findByFacultyAdvisorWithInternships(f.user()));
+        indexed("UserRepository.findIdsByRoleName", "NAME = ?1", f -> userRepository.findIdsByRoleName("ROLE_ADMIN"));
+
+        indexed("SGKDeclarationRepository.findByInternshipId", "INTERNSHIP_ID = ?1", f -> sgkDeclarationRepository.findByInternshipId(1L));
+        indexed("SGKDeclarationRepository.findByDeclarationNumber", "DECLARATION_NUMBER = ?1",
+                f -> sgkDeclarationRepository.findByDeclarationNumber("SGK-1"));
+        indexed("SGKDeclarationRepository.existsByInternshipId", "INTERNSHIP_ID = ?1", f -> sgkDeclarationRepository.existsByInternshipId(1L));
+        indexed("SGKDeclarationRepository.deleteByInternshipId", "INTERNSHIP_ID = ?1", f -> sgkDeclarationRepository.deleteByInternshipId(1L));
+        indexed("SGKDeclarationRepository.findInternshipIdsByDeclarationNumberIn", "DECLARATION_NUMBER IN(?1, ?2)",
+                f -> sgkDeclarationRepository.findInternshipIdsByDeclarationNumberIn(List.of("SGK-1", "SGK-2")));
+        indexed("SGKDeclarationRepository.findWithDetailsByInternshipIdIn", "ID IN(?1, ?2)",
+                f -> sgkDeclarationRepository.findWithDetailsByInternshipIdIn(ids));
+        indexed("SGKDeclarationRepository.streamActiveForExport", "END_DATE >= ?2 AND START_DATE <= ?1", f -> {
+            try (Stream<?> rows = sgkDeclarationRepository.streamActiveForExport(day, to)) {
+                rows.count();
+            }
+        });
+    }
+
+    @Test
+    void indexedQueriesReachRowsThroughExpectedColumns() {
+        checks.forEach((name, check) -> {
+            if (check.accessedColumns() == null) {
+                return;
+            }
+            List<String> statements = statementsOf(check.call());
+            assertThat(statements).as(name).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                assertThat(plan).as(name + "\n" + plan)
+                        .doesNotContain("tableScan")
+                        .contains(": " + check.accessedColumns());
+            }
+        });
+    }
+
+    @Test
+    void fullReadQueriesStillPlan() {
+        checks.forEach((name, check) -> {
+            if (check.accessedColumns() != null) {
+                return;
+            }
+            List<String> statements = statementsOf(check.call());
+            assertThat(statements).as(name + " (" + check.reason() + ")").isNotEmpty();
+            statements.forEach(sql -> assertThat(explain(sql)).as(name).isNotBlank());
+        });
+    }
+
+    // Yeni bir repository metodu plan kontrolü olmadan eklenemez
+    @Test
+    void everyRepositoryMethodHasPlanCheck() {
+        Set<String> declared = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Class<?> repository = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isSynthetic()) {
+                    declared.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        assertThat(declared).isNotEmpty();
+        assertThat(checks.keySet()).containsAll(declared);
+    }
+
+    private void indexed(String name, String accessedColumns, Consumer<Fixture> call) {
+        checks.put(name, new PlanCheck(accessedColumns, null, call));
+    }
+
+    private void fullRead(String name, String reason, Consumer<Fixture> call) {
+        checks.put(name, new PlanCheck(null, reason, call));
+    }
+
+    // Metot kendi işleminde çağrılır ve geri alınır; ikinci seviye önbellek SQL'i gizlemesin diye temizlenir
+    private List<String> statementsOf(Consumer<Fixture> call) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        return transactionTemplate.execute(status -> {
+            Role role = roleRepository.findByName("ROLE_STUDENT").orElseThrow();
+            User user = userRepository.saveAndFlush(User.builder()
+                    .firstName("Plan")
+                    .lastName("Test")
+                    .email("plan-test@example.com")
+                    .password("secret")
+                    .roles(new ArrayList<>(List.of(role)))
+                    .build());
+            Fixture fixture = new Fixture(user, role);
+            RecordingStatementInspector.drain();
+            call.accept(fixture);
+            status.setRollbackOnly();
+            return RecordingStatementInspector.drain();
+        });
+    }
+
+    // H2 çok kolonlu indeks koşullarını satırlara böldüğü için plan tek satıra indirilir
+    private String explain(String sql) {
+        String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql), resultSet -> {
+            resultSet.next();
+            return resultSet.getString(1);
+        });
+        return plan.replaceAll("\\s+", " ");
+    }
+}
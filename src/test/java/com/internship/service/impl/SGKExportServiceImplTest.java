@@ -0,0 +1,124 @@
+package com.internship.service.impl;
+
+import com.internship.dto.SGKExportFormat;
+import com.internship.entity.Internship;
+import com.internship.entity.InternshipStatus;
+import com.internship.entity.InternshipType;
+import com.internship.entity.SGKDeclaration;
+import com.internship.entity.User;
+import com.internship.repository.InternshipRepository;
+import com.internship.repository.RoleRepository;
+import com.internship.repository.SGKDeclarationRepository;
+import com.internship.repository.UserRepository;
+import com.internship.service.SGKExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.annotation.Transactional;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * XML dışa aktarımı sgk/sgk-bulk-export.xsd şemasına göre doğrulanır.
+ */
+@SpringBootTest
+@Transactional
+class SGKExportServiceImplTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2026, 7, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2026, 7, 31);
+
+    @Autowired
+    private SGKExportService sgkExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private SGKDeclarationRepository sgkDeclarationRepository;
+
+    @Test
+    void xmlExportValidatesAgainstSchema() throws Exception {
+        declare(student("Çağla", "Şahin", "cagla@example.com", "05551112233"), InternshipType.MANDATORY, true, "SGK-TEST-1");
+        declare(student("Ali", "Yılmaz", "ali@example.com", null), InternshipType.VOLUNTARY, false, "SGK-TEST-2");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = sgkExportService.export(PERIOD_START, PERIOD_END, SGKExportFormat.XML, out);
+
+        assertEquals(2, count);
+        validate(out.toByteArray());
+        String xml = out.toString(StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<ad>Çağla</ad>"));
+        assertTrue(xml.contains("kayitSayisi=\"2\""));
+    }
+
+    @Test
+    void emptyXmlExportValidatesAgainstSchema() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = sgkExportService.export(PERIOD_START, PERIOD_END, SGKExportFormat.XML, out);
+
+        assertEquals(0, count);
+        validate(out.toByteArray());
+    }
+
+    private void validate(byte[] xml) throws IOException, SAXException {
+        Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(new StreamSource(new ClassPathResource("sgk/sgk-bulk-export.xsd").getInputStream()));
+        schema.newValidator().validate(new StreamSource(new ByteArrayInputStream(xml)));
+    }
+
+    private User student(String firstName, String lastName, String email, String phoneNumber) {
+        return userRepository.save(User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .password("secret")
+                .phoneNumber(phoneNumber)
+                .roles(List.of(roleRepository.findByName("ROLE_STUDENT").orElseThrow()))
+                .build());
+    }
+
+    private void declare(User student, InternshipType type, boolean paid, String declarationNumber) {
+        Internship internship = internshipRepository.save(Internship.builder()
+                .student(student)
+                .companyName("Acme Yazılım A.Ş.")
+                .companyAddress("İstanbul")
+                .companyPhone("02121234567")
+                .startDate(PERIOD_START)
+                .endDate(PERIOD_END)
+                .workDays(20)
+                .insuranceSupport(true)
+                .isPaid(paid)
+                .parentalInsuranceCoverage(false)
+                .type(type)
+                .status(InternshipStatus.COORDINATOR_APPROVED)
+                .build());
+        sgkDeclarationRepository.save(SGKDeclaration.builder()
+                .internship(internship)
+                .declarationNumber(declarationNumber)
+                .startDate(PERIOD_START)
+                .endDate(PERIOD_END)
+                .isActive(true)
+                .build());
+    }
+}
@@ -0,0 +1,135 @@
+package com.internship.service.impl;
+
+import com.internship.entity.Role;
+import com.internship.entity.RoleType;
+import com.internship.entity.User;
+import com.internship.repository.RoleRepository;
+import com.internship.repository.UserRepository;
+import com.internship.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rol güncellemesinden sonra ikinci seviye önbellekteki kullanıcı ve rol koleksiyonunun eski
+ * değeri vermediğini doğrular. Her servis çağrısı kendi işleminde commit edilir, önbellek
+ * etkileşimleri commit sırasında gerçekleşir.
+ */
+@SpringBootTest
+class UserServiceImplCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+
+        Role student = roleRepository.findByName("ROLE_STUDENT").orElseThrow();
+        user = userService.createUser(User.builder()
+                .firstName("Cache")
+                .lastName("Test")
+                .email("cache-test@example.com")
+                .password("secret")
+                .roles(new ArrayList<>(List.of(student)))
+                .build());
+    }
+
+    @AfterEach
+    void deleteUser() {
+        userService.deleteUser(user.getId());
+    }
+
+    @Test
+    void updateUserRolesRefreshesCachedUserAndRoles() {
+        Long id = user.getId();
+        assertThat(authorities()).containsExactly("ROLE_STUDENT");
+        assertThat(cachedRoleNames(id)).containsExactly("ROLE_STUDENT");
+
+        // Kullanıcı ve rol koleksiyonu önbellekten okunuyor
+        statistics.clear();
+        assertThat(cachedRoleNames(id)).containsExactly("ROLE_STUDENT");
+        assertThat(hits("users")).isEqualTo(1);
+        assertThat(hits("user-roles")).isEqualTo(1);
+
+        userService.updateUserRoles(id, List.of("FACULTY_ADVISOR"));
+
+        // Entity girdisi yeni değerle yazılır, koleksiyon girdisi okunamaz hale gelir ve veritabanından yenilenir
+        statistics.clear();
+        assertThat(cachedRoleNames(id)).containsExactly("ROLE_FACULTY_ADVISOR");
+        assertThat(hits("users")).isEqualTo(1);
+        assertThat(hits("user-roles")).isZero();
+        assertThat(userRepository.findById(id).orElseThrow().getRoleMask()).isEqualTo(RoleType.FACULTY_ADVISOR.getBit());
+
+        statistics.clear();
+        assertThat(cachedRoleNames(id)).containsExactly("ROLE_FACULTY_ADVISOR");
+        assertThat(hits("user-roles")).isEqualTo(1);
+
+        assertThat(roleNames(userService.getUserById(id))).containsExactly("ROLE_FACULTY_ADVISOR");
+        assertThat(authorities()).containsExactly("ROLE_FACULTY_ADVISOR");
+    }
+
+    @Test
+    void updateUserReplacingRolesRefreshesCachedUserAndRoles() {
+        Long id = user.getId();
+        assertThat(authorities()).containsExactly("ROLE_STUDENT");
+        assertThat(cachedRoleNames(id)).containsExactly("ROLE_STUDENT");
+
+        Role admin = roleRepository.findByName("ROLE_ADMIN").orElseThrow();
+        userService.updateUser(id, User.builder().roles(new ArrayList<>(List.of(admin))).build());
+
+        assertThat(cachedRoleNames(id)).containsExactly("ROLE_ADMIN");
+        assertThat(authorities()).containsExactly("ROLE_ADMIN");
+    }
+
+    // Kullanıcı id ile (entity önbelleği), roller tembel yüklenerek (koleksiyon önbelleği) okunur
+    private List<String> cachedRoleNames(Long id) {
+        return transactionTemplate.execute(status -> roleNames(userRepository.findById(id).orElseThrow()));
+    }
+
+    private long hits(String region) {
+        return statistics.getDomainDataRegionStatistics(region).getHitCount();
+    }
+
+    private List<String> authorities() {
+        return userDetailsService.loadUserByUsername(user.getEmail()).getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+
+    private List<String> roleNames(User loaded) {
+        return loaded.getRoles().stream().map(Role::getName).toList();
+    }
+}